@@ -1,44 +1,115 @@
 package com.inside.idmcs.api;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.inside.idmcs.api.common.model.dto.IdInfo;
-import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.provider.IdInfoProvider;
+import com.inside.idmcs.api.common.util.cache.TtlCache;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class ApiCallService {
 	
-	private final Parser parser;
-	private final RestTemplate restTemplate;
+	private final IdInfoProvider idInfoProvider;
+	
+	// CI 기준 내부망 신분정보 조회 결과 캐시 (짧은 TTL)
+	private final TtlCache<String, IdInfo> idInfoCache;
 	
-	public ApiCallService(Parser parser, RestTemplate restTemplate) {
-		this.parser = parser;
-		this.restTemplate = restTemplate;
+	// CI별 진행 중인 조회 (같은 CI 동시 조회는 한 번만 호출하고 결과를 함께 사용)
+	private final Map<String, CompletableFuture<IdInfo>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder coalescedCount = new LongAdder();
+	
+	public ApiCallService(IdInfoProvider idInfoProvider,
+			@Value("${id.api.cache.ttl.sec}") long ttlSec,
+			@Value("${id.api.cache.max.size}") int maxSize) {
+		this.idInfoProvider = idInfoProvider;
+		this.idInfoCache = new TtlCache<>("idInfoApiCache", ttlSec * 1000, maxSize);
 	}
 
+	/**
+	 * CI로 내부망 신분정보를 조회하는 메서드.
+	 *
+	 * 실제 조회는 id.api.provider 설정으로 선택된 IdInfoProvider가 수행합니다.
+	 * id.api.cache.ttl.sec 동안 같은 CI의 조회 결과를 재사용하고, 캐시에 없는 같은 CI를 여러 요청이 동시에 조회하면
+	 * 한 요청만 내부망 API를 호출하고 나머지는 그 결과를 기다려 함께 사용합니다.
+	 * 조회되지 않은 결과(null)와 오류는 캐시하지 않으며, 호출한 쪽에서 값을 변경할 수 있도록 복사본을 반환합니다.
+	 *
+	 * @param ci 고객 CI
+	 * @return 신분정보 복사본 (존재하지 않으면 null)
+	 */
 	public IdInfo apiGetIdInfo(String ci) {
 
-		// RequestBody 생성 (ci)
-		Map<String, String> requestBody = parser.createRequestBody(ci);
+		IdInfo cached = idInfoCache.getIfPresent(ci);
+		if (cached != null)
+			return copy(cached);
+
+		CompletableFuture<IdInfo> call = new CompletableFuture<>();
+		CompletableFuture<IdInfo> running = inFlight.putIfAbsent(ci, call);
+		if (running != null) {
+			// 같은 CI를 조회 중인 요청의 결과 사용
+			coalescedCount.increment();
+			return copy(await(running));
+		}
+
+		try {
+			// 신분정보 조회 (id.api.provider 설정에 따라 HTTP 호출, 직접 호출, fixture)
+			IdInfo idInfo = idInfoProvider.getIdInfo(ci);
+			if (idInfo != null)
+				idInfoCache.put(ci, idInfo);
+			call.complete(idInfo);
+			return copy(idInfo);
+		} catch (Throwable e) {
+			// Error를 포함한 모든 실패를 전달해야 기다리는 요청이 멈추지 않음
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(ci, call);
+		}
+	}
+
+	/**
+	 * 주기적으로 만료 항목을 정리하고 캐시, 동시 조회 통합 통계를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		idInfoCache.cleanUp();
+		log.info("cache stats : {}, coalesced={}, inFlight={}", idInfoCache.stats(), coalescedCount.sum(), inFlight.size());
+	}
 
-		String url = "http://localhost:8080/api/idv/test/idinfo";
-		// 신분정보 가져오는 api 호출
-		IdInfo idInfo = apiGetIdInfo(requestBody, url);
+	// 진행 중인 조회 결과 대기 (호출한 요청의 예외를 그대로 전달)
+	private IdInfo await(CompletableFuture<IdInfo> running) {
 
-		return idInfo;
-		
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			if (e.getCause() instanceof Error error)
+				throw error;
+			throw e;
+		}
 	}
 
-	public IdInfo apiGetIdInfo(Map<String, String> requestBody, String url) {
+	// 캐시된 객체를 공유하지 않도록 복사
+	private IdInfo copy(IdInfo source) {
 
-		ResponseEntity<IdInfo> response = restTemplate.postForEntity(url, requestBody, IdInfo.class);
-        
-        return response.getBody();
+		if (source == null)
+			return null;
 
+		IdInfo target = new IdInfo();
+		BeanUtils.copyProperties(source, target);
+		return target;
 	}
 
 }
@@ -0,0 +1,109 @@
+package com.inside.idmcs.api.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 내부 API 호출용 RestTemplate 설정.
+ *
+ * Apache HttpClient 커넥션 풀을 사용하여 연결을 재사용하고, 연결/풀 대기/응답 시간을 제한합니다.
+ * 내부 API가 느리거나 응답하지 않아도 요청 스레드는 설정한 시간 안에 예외(ResourceAccessException)로 돌아옵니다.
+ */
+@Configuration
+public class RestTemplateConfig {
+
+	// application.properties 파일에서 HTTP 클라이언트 설정을 읽어옴
+	@Value("${api.client.pool.max.total}")
+	private int maxTotal;
+
+	@Value("${api.client.pool.max.per.route}")
+	private int maxPerRoute;
+
+	@Value("${api.client.connect.timeout.ms}")
+	private long connectTimeoutMs;
+
+	@Value("${api.client.connection.request.timeout.ms}")
+	private long connectionRequestTimeoutMs;
+
+	@Value("${api.client.read.timeout.ms}")
+	private long readTimeoutMs;
+
+	@Value("${api.client.keep.alive.sec}")
+	private long keepAliveSec;
+
+	@Value("${api.client.connection.ttl.sec}")
+	private long connectionTtlSec;
+
+	@Value("${api.client.idle.evict.sec}")
+	private long idleEvictSec;
+
+	/**
+	 * 내부 API 호출용 커넥션 풀 빈 생성
+	 * @return 전체/경로(호스트)별 최대 연결 수, 연결/읽기 시간 제한이 설정된 커넥션 풀
+	 */
+	@Bean
+	public PoolingHttpClientConnectionManager apiConnectionManager() {
+
+		ConnectionConfig connectionConfig = ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+				.setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+				.setTimeToLive(TimeValue.ofSeconds(connectionTtlSec))
+				// 일정 시간 쉬었던 연결은 재사용 전에 끊김 여부 확인
+				.setValidateAfterInactivity(TimeValue.ofSeconds(2))
+				.build();
+
+		return PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxTotal)
+				.setMaxConnPerRoute(maxPerRoute)
+				.setDefaultConnectionConfig(connectionConfig)
+				.build();
+	}
+
+	/**
+	 * 내부 API 호출용 HttpClient 빈 생성 (애플리케이션 종료 시 close)
+	 * @param apiConnectionManager 커넥션 풀
+	 * @return 커넥션 풀을 사용하는 HttpClient
+	 */
+	@Bean
+	public CloseableHttpClient apiHttpClient(PoolingHttpClientConnectionManager apiConnectionManager) {
+
+		RequestConfig requestConfig = RequestConfig.custom()
+				// 풀에서 연결을 얻기까지 기다리는 시간
+				.setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+				.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+				// 서버가 Keep-Alive 시간을 알려주지 않을 때 연결 유지 시간
+				.setDefaultKeepAlive(keepAliveSec, TimeUnit.SECONDS)
+				.build();
+
+		return HttpClients.custom()
+				.setConnectionManager(apiConnectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.ofSeconds(idleEvictSec))
+				.build();
+	}
+
+	/**
+	 * 내부 API 호출용 RestTemplate 빈 생성
+	 * @param apiHttpClient 커넥션 풀을 사용하는 HttpClient
+	 * @return RestTemplate 객체
+	 */
+	@Bean
+	public RestTemplate restTemplate(CloseableHttpClient apiHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient));
+	}
+
+}
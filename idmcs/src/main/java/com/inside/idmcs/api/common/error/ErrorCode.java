@@ -24,6 +24,7 @@ public enum ErrorCode {
     F207("서비스 이용기간 만료"),
     F208("연계 토큰 유효기간 만료"),
     F209("연계서비스 가입정보 기타 오류"),
+    F210("사진 조회 토큰 오류 (위조 또는 유효기간 만료)"),
     F301("비정상 직원 상태 (휴직, 퇴직 등)"),
     F302("비정상 신분증 상태(훼손, 회수 등)"),
     F303("신분 정보 오류(성명, 주민번호, 발급일자 등 불일치)"),
@@ -31,6 +32,7 @@ public enum ErrorCode {
     F402("QR코드 검증 오류(타 시스템 QR코드 등)"),
     F403("핸드폰 번호 불일치"),
     F404("QR코드 유효기간 만료"),
+    F405("QR코드 재사용(이미 검증된 QR코드)"),
     F499("QR코드 기타 오류"),
     F501("연계키 발급 오류(기관코드, 토큰 등)"),
     F502("공개키 발급 오류"),
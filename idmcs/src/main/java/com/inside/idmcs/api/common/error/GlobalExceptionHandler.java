@@ -41,12 +41,12 @@ public class GlobalExceptionHandler {
 			// 로그 PK 생성
 			logPk = logging.createLogPrimaryKey();
 			// 로그 생성 (에러코드)
-			logging.saveLogAsync(logPk, errorCode, errorCode.getDescription());
+			logging.appendLog(logPk, errorCode, errorCode.getDescription());
 
 			// 요청 정보 추출
 			requestInfo = parser.getRequestInfo(request);
 			// 로그 갱신 (요청정보)
-			logging.saveLogAsync(logPk, requestInfo);
+			logging.appendLog(logPk, requestInfo);
 
 			log.error("json형식 오류[{}]: {}", logPk, requestInfo);
 
@@ -115,10 +115,10 @@ public class GlobalExceptionHandler {
 			}
 			
 			// 로그 생성 (에러코드 및 메시지)
-			logging.saveLogAsync(logPk, errorCode, message);
+			logging.appendLog(logPk, errorCode, message);
 
 			// 로그 갱신 (요청 정보)
-			logging.saveLogAsync(logPk, requestInfo);
+			logging.appendLog(logPk, requestInfo);
 
 		} catch (Exception e) {
 			log.error("로그 처리 중 오류 발생", e);
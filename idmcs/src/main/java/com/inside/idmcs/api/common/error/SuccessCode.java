@@ -2,7 +2,8 @@ package com.inside.idmcs.api.common.error;
 
 public enum SuccessCode {
 	
-	S00000("SUCCESS");
+	S00000("SUCCESS"),
+	S00304("NOT MODIFIED");
 
 	private String description;
 
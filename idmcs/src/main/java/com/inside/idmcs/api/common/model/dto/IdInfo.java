@@ -19,12 +19,15 @@ public class IdInfo {
 	private String address;
 	private String detailAddress;
 	private String issuedInstNm;
-	private String photo;
+	@ToString.Exclude
+	private byte[] photo; //사진 (이미지 바이너리, 로그에는 남기지 않음)
+	private String photoHash; //사진 해시 (사진 조회 ETag)
 	private String appKey;
 	private String telecom;
 	private String deviceInfo;
 	private String status; //직원상태
 	private String idStatus; //신분증 상태
 	private String registYn;
+	private String syncHash; //마지막으로 저장한 신분정보 지문 (변경 없으면 업데이트 생략)
 	
 }
@@ -1,5 +1,8 @@
 package com.inside.idmcs.api.common.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.inside.idmcs.api.common.util.validation.AllowList;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -28,5 +31,13 @@ public class InstitutionAndApplicationInfo {
 	private String instStatus;
 	private String appStatus;
 	
+	// ipList, urlList를 파싱한 접속 허용 목록 (캐시 적재 시 또는 최초 검사 시 생성)
+	@JsonIgnore
+	@ToString.Exclude
+	private volatile AllowList ipAllowList;
+	
+	@JsonIgnore
+	@ToString.Exclude
+	private volatile AllowList urlAllowList;
 	
 }
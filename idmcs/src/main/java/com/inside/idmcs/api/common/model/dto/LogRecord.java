@@ -0,0 +1,99 @@
+package com.inside.idmcs.api.common.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 요청 하나의 로그(log 테이블 한 행)를 모아두는 객체.
+ *
+ * 요청 처리 중 저장되는 reqVO, 요청정보, 기관앱정보, 신분정보, QR코드, 결과 정보를 필드 단위로 누적하고,
+ * 요청이 끝나면 한 번에 데이터베이스에 기록합니다. null인 필드는 기존 값을 덮어쓰지 않습니다.
+ */
+@Getter
+@Setter
+@ToString
+public class LogRecord {
+
+	private String logPk;
+
+	// 기관앱정보
+	private Long instNo;
+	private String instNm;
+	private String instToken;
+	private String instVldBgngYmd;
+	private String instVldEndYmd;
+	private Long appNo;
+	private String appNm;
+	private String appToken;
+	private String appVldBgngYmd;
+	private String appVldEndYmd;
+	private String publicKey;
+	@ToString.Exclude
+	private String privateKey;
+	private String keyVldBgngYmd;
+	private String keyVldEndYmd;
+
+	// 요청정보
+	private String reqMethod;
+	private String reqUrl;
+	private String queryString;
+	private String reqIp;
+	private String reqHeader;
+	private String jsonReqBody;
+
+	// 요청 데이터 및 신분정보
+	private String empId;
+	private String empBrdt;
+	private String empSsnBack;
+	private String empNm;
+	private String issuYmd;
+	private String encKey;
+	private String empCi;
+	private String appKey;
+	private String empTelno;
+	private String empDeviceInfo;
+	private String empTelecom;
+	private String empAddr;
+	private String empDaddr;
+	private String empInstNm;
+	@ToString.Exclude
+	private String photoData;
+	private String empStts;
+	private String empIdStts;
+
+	// QR 및 QR 이력 조회 조건
+	private String qrCd;
+	private String inqBgngYmd;
+	private String inqEndYmd;
+	private Integer bgngIndex;
+	private Integer reqListCnt;
+	private String qrSort;
+	private String qrUseNy;
+	private String qrRange;
+
+	// 결과 정보
+	private String resCd;
+	private String resMsg;
+	private String jsonRes;
+
+	// 누적 시작 시각(밀리초), 기록 완료 여부
+	@JsonIgnore
+	@ToString.Exclude
+	private long createdMillis;
+	@JsonIgnore
+	@ToString.Exclude
+	private boolean closed;
+
+	public LogRecord() {
+		this.createdMillis = System.currentTimeMillis();
+	}
+
+	public LogRecord(String logPk) {
+		this.logPk = logPk;
+		this.createdMillis = System.currentTimeMillis();
+	}
+
+}
@@ -14,12 +14,20 @@ public class PageInfo {
 	private String hasNext;
 	private int offset;
 	
+	// 실제 조회 건수 (다음 페이지 여부 확인을 위해 요청 목록 수보다 1건 더 조회)
+	private int fetchCount;
+	
+	// 커서(keyset) 조회 위치 : 마지막으로 조회한 이력의 검증시각(yyyyMMddHHmmssSSSSSS), 이력 번호
+	private String cursorDt;
+	private Long cursorHistNo;
+	
 	public PageInfo(int reqListCount, int totalCount, String hasNext, int offset) {
 		super();
 		this.reqListCount = reqListCount;
 		this.totalCount = totalCount;
 		this.hasNext = hasNext;
 		this.offset = offset;
+		this.fetchCount = reqListCount + 1;
 	}
 	
 }
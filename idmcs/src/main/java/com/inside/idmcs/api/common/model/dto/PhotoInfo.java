@@ -0,0 +1,21 @@
+package com.inside.idmcs.api.common.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class PhotoInfo {
+	
+	@ToString.Exclude
+	private byte[] photo;
+	private String photoHash;
+	
+	public PhotoInfo(byte[] photo, String photoHash) {
+		this.photo = photo;
+		this.photoHash = photoHash;
+	}
+	
+}
@@ -10,7 +10,7 @@ import lombok.ToString;
 public class Photo {
 	
 	private String empId;
-	private String photoData;
+	private byte[] photoData;
 	private String crtDt;
 	
 }
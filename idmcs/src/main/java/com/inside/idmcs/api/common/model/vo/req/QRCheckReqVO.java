@@ -22,6 +22,10 @@ public class QRCheckReqVO extends ReqVO {
 	@NotNull(message = "QR 코드")
 	private String qrCd;
 	
+	// QR 코드 전달 형식 (IMAGE: Base64 PNG 이미지(기본값), TEXT: 스캐너가 해석한 QR 내용 문자열)
+	@Size(max = 5, message = "QR 코드 형식")
+	private String qrType;
+	
 	private String ci;
 	
 	@NotNull(message = "서버 대칭키")
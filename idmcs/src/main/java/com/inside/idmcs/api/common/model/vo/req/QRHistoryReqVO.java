@@ -59,6 +59,10 @@ public class QRHistoryReqVO extends ReqVO {
 	@Size(max = 3, message = "조회 범위 크기")
 	private String range;
 	
+	// 다음 페이지 커서 (이전 응답의 nextCursor, 있으면 curListIndex 대신 커서 위치부터 조회)
+	@Size(max = 128, message = "페이지 커서 크기")
+	private String cursor;
+	
 	@NotNull(message = "대칭키")
 	private String encKey;
 	
@@ -22,6 +22,7 @@ public class ReqVO {
 	private String deviceInfo;
 	private String telecom;
 	private String qrCd;
+	private String qrType;
 	private String stDt;
 	private String endDt;
 	private int curListIndex;
@@ -29,6 +30,7 @@ public class ReqVO {
 	private String order;
 	private String status;
 	private String range;
+	private String cursor;
 	
 	public ReqVO() {
 		super();
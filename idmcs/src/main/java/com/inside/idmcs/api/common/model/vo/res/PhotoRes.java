@@ -0,0 +1,19 @@
+package com.inside.idmcs.api.common.model.vo.res;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class PhotoRes {
+	
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	@ToString.Exclude
+	private byte[] photo; //사진 (appKey로 암호화, JSON에서는 Base64 문자열, 변경이 없으면 null)
+	private String photoHash; //사진 해시 (ETag)
+	
+}
@@ -1,5 +1,7 @@
 package com.inside.idmcs.api.common.model.vo.res;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -13,4 +15,10 @@ public class QRCheckHistory {
 	private String checkDt;
 	private String qrCd;
 	
+	// 다음 페이지 커서 생성용 (응답에는 포함하지 않음)
+	@JsonIgnore
+	private String cursorDt;
+	@JsonIgnore
+	private long qrHistNo;
+	
 }
@@ -1,5 +1,7 @@
 package com.inside.idmcs.api.common.model.vo.res;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -15,7 +17,11 @@ public class QRCheckRes {
 	private String issuedYmd;
 	private String address;
 	private String detailAddress;
-	private String photo;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	@ToString.Exclude
+	private byte[] photo; //사진 (photo.inline.enabled=true인 경우만, JSON에서는 Base64 문자열)
+	private String photoHash; //사진 해시 (사진 조회 ETag)
+	private String photoToken; //사진 조회 토큰
 	private String issuOrgName;
 	private String appKey;
 	private String deviceInfo;
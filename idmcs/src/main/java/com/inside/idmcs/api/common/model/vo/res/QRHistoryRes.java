@@ -14,6 +14,7 @@ public class QRHistoryRes {
 	private List<QRCheckHistory> qrHist;
 	private String hasNext;
 	private int totCnt;
+	private String nextCursor;
 	
 	public QRHistoryRes(List<QRCheckHistory> qrHist, String hasNext, int totCnt) {
 		super();
@@ -22,4 +23,9 @@ public class QRHistoryRes {
 		this.totCnt = totCnt;
 	}
 	
+	public QRHistoryRes(List<QRCheckHistory> qrHist, String hasNext, int totCnt, String nextCursor) {
+		this(qrHist, hasNext, totCnt);
+		this.nextCursor = nextCursor;
+	}
+	
 }
@@ -0,0 +1,71 @@
+package com.inside.idmcs.api.common.provider;
+
+import java.io.InputStream;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 미리 기록한 신분정보 파일에서 조회하는 제공자. (id.api.provider=fixture, 부하 테스트용)
+ *
+ * id.api.fixture.path(classpath: 또는 file:)의 JSON 파일({CI: 신분정보(내부망 API 응답 형식)})을 시작 시 한 번 읽어 둡니다.
+ * 사진(photo)은 내부망 API 응답과 같이 Base64 문자열로 기록합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "id.api.provider", havingValue = "fixture")
+public class FixtureIdInfoProvider implements IdInfoProvider {
+
+	private final ResourceLoader resourceLoader;
+	private final ObjectMapper objectMapper;
+
+	// application.properties 파일에서 id.api.fixture.path 값을 읽어옴
+	@Value("${id.api.fixture.path}")
+	private String fixturePath;
+
+	private Map<String, IdInfo> fixtures;
+
+	public FixtureIdInfoProvider(ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+		this.resourceLoader = resourceLoader;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 신분정보 파일을 읽어 CI별로 보관하는 메서드.
+	 *
+	 * @throws Exception 파일이 없거나 형식이 올바르지 않은 경우
+	 */
+	@PostConstruct
+	public void load() throws Exception {
+
+		try (InputStream in = resourceLoader.getResource(fixturePath).getInputStream()) {
+			fixtures = Map.copyOf(objectMapper.readValue(in, new TypeReference<Map<String, IdInfo>>() {}));
+		}
+		log.info("신분정보 fixture 적재 ({}): {}건", fixturePath, fixtures.size());
+	}
+
+	@Override
+	public IdInfo getIdInfo(String ci) {
+
+		IdInfo fixture = fixtures.get(ci);
+		if (fixture == null)
+			return null;
+
+		// 보관한 객체를 공유하지 않도록 복사
+		IdInfo idInfo = new IdInfo();
+		BeanUtils.copyProperties(fixture, idInfo);
+		return idInfo;
+	}
+
+}
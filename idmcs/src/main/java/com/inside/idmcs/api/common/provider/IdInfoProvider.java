@@ -0,0 +1,23 @@
+package com.inside.idmcs.api.common.provider;
+
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+
+/**
+ * 내부망 신분정보 조회 제공자.
+ *
+ * id.api.provider 설정으로 구현체를 선택합니다.
+ * - remote : 설정한 URL(id.api.url)의 내부망 신분정보 API를 HTTP로 호출 (기본값)
+ * - local : 같은 애플리케이션의 신분정보 조회 서비스(TestApiService)를 HTTP 없이 직접 호출
+ * - fixture : 미리 기록한 신분정보 파일(id.api.fixture.path)에서 조회
+ */
+public interface IdInfoProvider {
+
+	/**
+	 * CI로 신분정보를 조회하는 메서드.
+	 *
+	 * @param ci 고객 CI
+	 * @return 신분정보 (존재하지 않으면 null)
+	 */
+	IdInfo getIdInfo(String ci);
+
+}
@@ -0,0 +1,34 @@
+package com.inside.idmcs.api.common.provider;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.test.TestApiService;
+import com.inside.idmcs.test.model.TestApiReqCi;
+
+/**
+ * 같은 애플리케이션의 신분정보 조회 서비스를 직접 호출하는 제공자. (id.api.provider=local)
+ *
+ * 자기 자신(localhost)으로의 HTTP 호출 없이 조회하므로 요청 하나가 요청 스레드 두 개를 점유하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "id.api.provider", havingValue = "local")
+public class LocalIdInfoProvider implements IdInfoProvider {
+
+	private final TestApiService testApiService;
+
+	public LocalIdInfoProvider(TestApiService testApiService) {
+		this.testApiService = testApiService;
+	}
+
+	@Override
+	public IdInfo getIdInfo(String ci) {
+
+		TestApiReqCi reqCi = new TestApiReqCi();
+		reqCi.setCi(ci);
+
+		return testApiService.selectIdinfoApi(reqCi);
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.inside.idmcs.api.common.provider;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.api.common.util.parser.Parser;
+
+/**
+ * 내부망 신분정보 API를 HTTP로 호출하는 제공자. (id.api.provider=remote, 기본값)
+ */
+@Component
+@ConditionalOnProperty(name = "id.api.provider", havingValue = "remote", matchIfMissing = true)
+public class RemoteIdInfoProvider implements IdInfoProvider {
+
+	private final Parser parser;
+	private final RestTemplate restTemplate;
+
+	// application.properties 파일에서 id.api.url 값을 읽어옴
+	@Value("${id.api.url}")
+	private String url;
+
+	public RemoteIdInfoProvider(Parser parser, RestTemplate restTemplate) {
+		this.parser = parser;
+		this.restTemplate = restTemplate;
+	}
+
+	@Override
+	public IdInfo getIdInfo(String ci) {
+
+		// RequestBody 생성 (ci)
+		Map<String, String> requestBody = parser.createRequestBody(ci);
+
+		// 신분정보 가져오는 api 호출
+		ResponseEntity<IdInfo> response = restTemplate.postForEntity(url, requestBody, IdInfo.class);
+
+		return response.getBody();
+	}
+
+}
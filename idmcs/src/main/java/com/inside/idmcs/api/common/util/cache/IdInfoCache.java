@@ -0,0 +1,167 @@
+package com.inside.idmcs.api.common.util.cache;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.api.common.model.dto.PhotoInfo;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
+import com.inside.idmcs.api.id.check.dao.IdCheckDao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 직원 신분정보(IdInfo) 조회 캐시.
+ *
+ * 사진을 제외한 신분정보는 userId(QR 검증), CI(그 외 요청) 기준으로 각각 보관하고,
+ * 크기가 큰 사진(photo_data)은 userId 기준으로 사진 해시와 함께 따로 보관합니다.
+ * 사진이 없는 직원은 사진 없음(NO_PHOTO)을 보관하여 매번 데이터베이스를 다시 조회하지 않습니다.
+ * 조회 결과는 요청마다 복사본을 반환하므로 호출한 쪽에서 값을 변경해도 캐시에는 영향이 없습니다.
+ * 신분정보 갱신, 등록, 해지 시 evict로 해당 직원 항목을 제거하며, 트랜잭션 안에서 호출되면 커밋 후 한 번 더 제거합니다.
+ * (다른 서버의 캐시는 TTL이 지나야 갱신됩니다.)
+ */
+@Slf4j
+@Component
+public class IdInfoCache {
+
+	// 사진이 없는 직원의 사진 캐시 값 (TtlCache는 null을 저장하지 않음)
+	private static final PhotoInfo NO_PHOTO = new PhotoInfo(null, null);
+
+	private final IdCheckDao idCheckDao;
+	private final PhotoDelivery photoDelivery;
+	private final TtlCache<String, IdInfo> userIdCache;
+	private final TtlCache<String, IdInfo> ciCache;
+	private final TtlCache<String, PhotoInfo> photoCache;
+
+	public IdInfoCache(IdCheckDao idCheckDao, PhotoDelivery photoDelivery,
+			@Value("${id.info.cache.ttl.sec}") long ttlSec,
+			@Value("${id.info.cache.max.size}") int maxSize,
+			@Value("${id.info.photo.cache.max.size}") int photoMaxSize) {
+		this.idCheckDao = idCheckDao;
+		this.photoDelivery = photoDelivery;
+		this.userIdCache = new TtlCache<>("idInfoUserIdCache", ttlSec * 1000, maxSize);
+		this.ciCache = new TtlCache<>("idInfoCiCache", ttlSec * 1000, maxSize);
+		this.photoCache = new TtlCache<>("idInfoPhotoCache", ttlSec * 1000, photoMaxSize);
+	}
+
+	/**
+	 * userId로 사진을 포함한 신분정보를 조회하는 메서드. (selectIdInfoWithUserId)
+	 *
+	 * @param userId 직원 아이디
+	 * @return 사진, 사진 해시를 포함한 신분정보 복사본 (존재하지 않으면 null)
+	 */
+	public IdInfo getWithUserId(String userId) {
+
+		IdInfo cached = userIdCache.getIfPresent(userId);
+		PhotoInfo photoInfo = cached != null ? photoCache.getIfPresent(userId) : null;
+
+		if (cached == null || photoInfo == null) {
+			// 신분정보와 사진을 함께 select 후 나누어 저장
+			IdInfo idInfo = idCheckDao.selectIdInfoWithUserId(userId);
+			if (idInfo == null)
+				return null;
+
+			photoInfo = toPhotoInfo(idInfo.getPhoto());
+			photoCache.put(userId, photoInfo);
+			idInfo.setPhoto(null);
+			userIdCache.put(userId, idInfo);
+			cached = idInfo;
+		}
+
+		IdInfo copy = copy(cached);
+		if (photoInfo != NO_PHOTO) {
+			copy.setPhoto(photoInfo.getPhoto());
+			copy.setPhotoHash(photoInfo.getPhotoHash());
+		}
+		return copy;
+	}
+
+	/**
+	 * CI로 사진을 제외한 신분정보를 조회하는 메서드. (selectIdInfo)
+	 *
+	 * @param ci 고객 CI
+	 * @return 신분정보 복사본 (존재하지 않으면 null)
+	 */
+	public IdInfo getWithCi(String ci) {
+
+		IdInfo idInfo = ciCache.get(ci, idCheckDao::selectIdInfo);
+		return idInfo != null ? copy(idInfo) : null;
+	}
+
+	/**
+	 * userId로 사진과 사진 해시를 조회하는 메서드. (selectPhotoData)
+	 *
+	 * @param userId 직원 아이디
+	 * @return 사진, 사진 해시 (사진이 없으면 null)
+	 */
+	public PhotoInfo getPhoto(String userId) {
+
+		PhotoInfo photoInfo = photoCache.get(userId, key -> toPhotoInfo(idCheckDao.selectPhotoData(key)));
+		return photoInfo != NO_PHOTO ? photoInfo : null;
+	}
+
+	/**
+	 * 직원의 신분정보, 사진 캐시 항목을 제거하는 메서드. (신분정보 갱신, 등록, 해지 시 호출)
+	 *
+	 * 트랜잭션 안에서 호출되면 커밋 전에 다시 적재된 이전 값이 남지 않도록 커밋 후 한 번 더 제거합니다.
+	 *
+	 * @param userId 직원 아이디 (모르면 null)
+	 * @param ci 고객 CI (모르면 null)
+	 */
+	public void evict(String userId, String ci) {
+
+		evictNow(userId, ci);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evictNow(userId, ci);
+				}
+			});
+		}
+	}
+
+	/**
+	 * 주기적으로 만료 항목을 정리하고 캐시 통계를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		for (TtlCache<?, ?> cache : new TtlCache<?, ?>[] { userIdCache, ciCache, photoCache }) {
+			cache.cleanUp();
+			log.info("cache stats : {}", cache.stats());
+		}
+	}
+
+	// userId, CI 기준 항목 제거 (한쪽만 알아도 다른 캐시의 같은 직원 항목까지 제거)
+	private void evictNow(String userId, String ci) {
+
+		if (userId != null) {
+			userIdCache.invalidate(userId);
+			photoCache.invalidate(userId);
+			ciCache.invalidateIf(idInfo -> userId.equals(idInfo.getUserId()));
+		}
+		if (ci != null) {
+			ciCache.invalidate(ci);
+			userIdCache.invalidateIf(idInfo -> ci.equals(idInfo.getCi()));
+		}
+	}
+
+	// 사진 해시는 캐시에 담을 때 한 번만 계산 (사진이 없으면 NO_PHOTO)
+	private PhotoInfo toPhotoInfo(byte[] photo) {
+		return photo != null ? new PhotoInfo(photo, photoDelivery.hash(photo)) : NO_PHOTO;
+	}
+
+	// 캐시된 객체를 공유하지 않도록 복사
+	private IdInfo copy(IdInfo source) {
+
+		IdInfo target = new IdInfo();
+		BeanUtils.copyProperties(source, target);
+		return target;
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.inside.idmcs.api.common.util.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
+import com.inside.idmcs.api.common.util.validation.AllowList;
+import com.inside.idmcs.api.enc.pk.dao.PublicKeyDao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기관앱정보(InstitutionAndApplicationInfo) 조회 캐시.
+ *
+ * (agencyToken, applicationToken) 기준으로 selectInstAndAppInfo 결과를 TTL 동안 보관합니다.
+ * 적재 시 접속 허용 IP/URL 목록을 미리 파싱해 두며, 조회되지 않은 토큰(null)은 캐시하지 않습니다.
+ * 공개키 재발급 시 invalidateApp으로 해당 애플리케이션 항목을 제거하며, 트랜잭션 안에서 호출되면 커밋 후 한 번 더 제거합니다.
+ * 캐시된 객체는 여러 요청이 공유하므로 조회한 쪽에서 값을 변경하면 안 됩니다.
+ */
+@Slf4j
+@Component
+public class InstitutionAndApplicationCache {
+
+	private final PublicKeyDao publicKeyDao;
+	private final TtlCache<String, InstitutionAndApplicationInfo> cache;
+
+	public InstitutionAndApplicationCache(PublicKeyDao publicKeyDao,
+			@Value("${inst.app.cache.ttl.sec}") long ttlSec,
+			@Value("${inst.app.cache.max.size}") int maxSize) {
+		this.publicKeyDao = publicKeyDao;
+		this.cache = new TtlCache<>("instAndAppCache", ttlSec * 1000, maxSize);
+	}
+
+	/**
+	 * 기관 토큰과 앱 토큰으로 기관앱정보를 조회하는 메서드.
+	 *
+	 * 캐시에 유효한 항목이 있으면 그대로 반환하고, 없으면 데이터베이스에서 select 후 캐시에 저장합니다.
+	 *
+	 * @param agencyToken 기관 토큰
+	 * @param applicationToken 애플리케이션 토큰
+	 * @return 기관앱정보 (존재하지 않으면 null)
+	 */
+	public InstitutionAndApplicationInfo get(String agencyToken, String applicationToken) {
+		return cache.get(createKey(agencyToken, applicationToken), key -> load(agencyToken, applicationToken));
+	}
+
+	/**
+	 * 애플리케이션 번호에 해당하는 캐시 항목을 제거하는 메서드. (공개키 재발급 시 호출)
+	 *
+	 * 트랜잭션 안에서 호출되면 커밋 전에 다시 적재된 이전 키 정보가 남지 않도록 커밋 후 한 번 더 제거합니다.
+	 *
+	 * @param appNo 애플리케이션 번호
+	 */
+	public void invalidateApp(long appNo) {
+
+		cache.invalidateIf(info -> info.getAppNo() == appNo);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidateIf(info -> info.getAppNo() == appNo);
+				}
+			});
+		}
+	}
+
+	/**
+	 * 캐시의 모든 항목을 제거하는 메서드.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public TtlCache<String, InstitutionAndApplicationInfo> getCache() {
+		return cache;
+	}
+
+	/**
+	 * 주기적으로 만료 항목을 정리하고 캐시 통계를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		cache.cleanUp();
+		log.info("cache stats : {}", cache.stats());
+	}
+
+	// 데이터베이스에서 기관앱정보를 select 하고 접속 허용 목록(IP, URL)을 미리 파싱
+	private InstitutionAndApplicationInfo load(String agencyToken, String applicationToken) {
+
+		InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao.selectInstAndAppInfo(agencyToken,
+				applicationToken);
+		if (instAndAppInfo != null) {
+			instAndAppInfo.setIpAllowList(AllowList.ofIps(instAndAppInfo.getIpList()));
+			instAndAppInfo.setUrlAllowList(AllowList.ofUrls(instAndAppInfo.getUrlList()));
+		}
+		return instAndAppInfo;
+	}
+
+	// 캐시 키 생성 (기관 토큰 + 앱 토큰)
+	private String createKey(String agencyToken, String applicationToken) {
+		return agencyToken + "|" + applicationToken;
+	}
+
+}
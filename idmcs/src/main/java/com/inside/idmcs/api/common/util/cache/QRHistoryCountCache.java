@@ -0,0 +1,89 @@
+package com.inside.idmcs.api.common.util.cache;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
+import com.inside.idmcs.api.common.model.vo.req.ReqVO;
+import com.inside.idmcs.api.qr.history.dao.QRHistoryDao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * QR 이력 전체 건수(getCountHistoryQR) 조회 캐시.
+ *
+ * qr.history.count.mode 설정에 따라 전체 건수를 구하는 방식이 달라집니다.
+ * - exact : 매 요청마다 count 조회
+ * - cached : (직원 아이디, 조회 범위/앱, 검증상태, 조회 기간) 기준으로 TTL 동안 보관하고, 없을 때만 count 조회
+ * cached 모드의 전체 건수는 TTL 동안 새로 기록된 이력을 반영하지 않을 수 있습니다.
+ * (다음 페이지 여부는 목록 조회 시 1건을 더 조회하여 판단하므로 건수와 무관하게 정확합니다.)
+ */
+@Slf4j
+@Component
+public class QRHistoryCountCache {
+
+	// 전체 건수 조회 방식
+	public enum CountMode {
+		EXACT, CACHED
+	}
+
+	private final QRHistoryDao qRHistoryDao;
+	private final CountMode countMode;
+	private final TtlCache<String, Integer> cache;
+
+	public QRHistoryCountCache(QRHistoryDao qRHistoryDao,
+			@Value("${qr.history.count.mode}") String countMode,
+			@Value("${qr.history.count.cache.ttl.sec}") long ttlSec,
+			@Value("${qr.history.count.cache.max.size}") int maxSize) {
+		this.qRHistoryDao = qRHistoryDao;
+		this.countMode = CountMode.valueOf(countMode.trim().toUpperCase(Locale.ROOT));
+		this.cache = new TtlCache<>("qrHistoryCountCache", ttlSec * 1000, maxSize);
+	}
+
+	/**
+	 * 조회 조건에 맞는 QR 이력 전체 건수를 반환하는 메서드.
+	 *
+	 * @param reqVO 조회 조건이 담긴 ReqVO 객체
+	 * @param instAndAppInfo 기관앱정보 (조회 범위가 APP인 경우 앱 번호 사용)
+	 * @param empId 조회할 직원 아이디
+	 * @return 조건에 맞는 QR 이력 전체 건수
+	 */
+	public int getCount(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo, String empId) {
+
+		if (countMode == CountMode.EXACT)
+			return qRHistoryDao.getCountHistoryQR(reqVO, instAndAppInfo, empId);
+
+		return cache.get(createKey(reqVO, instAndAppInfo, empId),
+				key -> qRHistoryDao.getCountHistoryQR(reqVO, instAndAppInfo, empId));
+	}
+
+	/**
+	 * 캐시의 모든 항목을 제거하는 메서드.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * 주기적으로 만료 항목을 정리하고 캐시 통계를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		if (countMode == CountMode.EXACT)
+			return;
+
+		cache.cleanUp();
+		log.info("cache stats : {}", cache.stats());
+	}
+
+	// 캐시 키 생성 (직원 아이디 + 조회 범위(APP이면 앱 번호) + 검증상태 + 조회 기간)
+	private String createKey(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo, String empId) {
+
+		String range = "APP".equals(reqVO.getRange()) ? "APP:" + instAndAppInfo.getAppNo() : reqVO.getRange();
+		return empId + "|" + range + "|" + reqVO.getStatus() + "|" + reqVO.getStDt() + "|" + reqVO.getEndDt();
+	}
+
+}
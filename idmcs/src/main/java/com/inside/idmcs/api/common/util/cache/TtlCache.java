@@ -0,0 +1,203 @@
+package com.inside.idmcs.api.common.util.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 만료시간(TTL)과 최대 크기를 가진 간단한 메모리 캐시.
+ *
+ * 조회 시 항목이 없거나 만료되었으면 loader로 값을 읽어와 저장합니다. loader 결과가 null이면 저장하지 않습니다.
+ * 최대 크기를 넘으면 먼저 만료된 항목을 정리하고, 그래도 넘으면 만료가 가장 임박한 항목부터 제거합니다.
+ * 히트/미스/제거 건수를 집계하여 stats()로 제공합니다.
+ *
+ * @param <K> 캐시 키 타입
+ * @param <V> 캐시 값 타입
+ */
+public class TtlCache<K, V> {
+
+	private final String name;
+	private final long ttlMillis;
+	private final int maxSize;
+	private final Map<K, Entry<V>> map = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	public TtlCache(String name, long ttlMillis, int maxSize) {
+		this.name = name;
+		this.ttlMillis = ttlMillis;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * 캐시에서 값을 조회하고, 없거나 만료된 경우 loader로 읽어와 저장한 뒤 반환하는 메서드.
+	 *
+	 * @param key 캐시 키
+	 * @param loader 캐시에 값이 없을 때 호출할 조회 함수
+	 * @return 캐시된 값 또는 loader로 읽어온 값 (없으면 null)
+	 */
+	public V get(K key, Function<K, V> loader) {
+
+		V value = getIfPresent(key);
+		if (value != null)
+			return value;
+
+		value = loader.apply(key);
+		if (value != null)
+			put(key, value);
+
+		return value;
+	}
+
+	/**
+	 * 캐시에 저장된 유효한 값을 반환하는 메서드. 없거나 만료되었으면 null을 반환합니다.
+	 *
+	 * @param key 캐시 키
+	 * @return 캐시된 값 또는 null
+	 */
+	public V getIfPresent(K key) {
+
+		Entry<V> entry = map.get(key);
+		if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+			hitCount.increment();
+			return entry.value;
+		}
+
+		// 만료된 항목 제거
+		if (entry != null && map.remove(key, entry))
+			evictionCount.increment();
+
+		missCount.increment();
+		return null;
+	}
+
+	/**
+	 * 값을 캐시에 저장하는 메서드.
+	 *
+	 * @param key 캐시 키
+	 * @param value 저장할 값
+	 */
+	public void put(K key, V value) {
+
+		if (ttlMillis <= 0 || maxSize <= 0)
+			return;
+
+		if (map.size() >= maxSize && !map.containsKey(key))
+			makeRoom();
+
+		map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	/**
+	 * 키에 해당하는 항목을 제거하는 메서드.
+	 *
+	 * @param key 제거할 캐시 키
+	 */
+	public void invalidate(K key) {
+		map.remove(key);
+	}
+
+	/**
+	 * 조건에 맞는 값을 가진 항목을 모두 제거하는 메서드.
+	 *
+	 * @param predicate 제거 대상 값 판별 조건
+	 */
+	public void invalidateIf(Predicate<V> predicate) {
+		map.values().removeIf(entry -> predicate.test(entry.value));
+	}
+
+	/**
+	 * 캐시의 모든 항목을 제거하는 메서드.
+	 */
+	public void invalidateAll() {
+		map.clear();
+	}
+
+	/**
+	 * 만료된 항목을 정리하는 메서드.
+	 */
+	public void cleanUp() {
+
+		long now = System.currentTimeMillis();
+		Iterator<Entry<V>> it = map.values().iterator();
+		while (it.hasNext()) {
+			if (it.next().isExpired(now)) {
+				it.remove();
+				evictionCount.increment();
+			}
+		}
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * 캐시 통계를 로그 출력용 문자열로 반환하는 메서드.
+	 *
+	 * @return 캐시 이름, 크기, 히트/미스/제거 건수와 히트율을 담은 문자열
+	 */
+	public String stats() {
+
+		long hit = getHitCount();
+		long miss = getMissCount();
+		long total = hit + miss;
+		double hitRate = total == 0 ? 0 : (double) hit * 100 / total;
+
+		return String.format("%s[size=%d, hit=%d, miss=%d, eviction=%d, hitRate=%.1f%%]", name, size(), hit, miss,
+				getEvictionCount(), hitRate);
+	}
+
+	// 최대 크기 초과 시 만료 항목을 정리하고, 그래도 가득 차 있으면 만료가 가장 임박한 항목 제거
+	private void makeRoom() {
+
+		cleanUp();
+		while (map.size() >= maxSize) {
+			K eldestKey = null;
+			long eldestExpireAt = Long.MAX_VALUE;
+			for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+				if (e.getValue().expireAt < eldestExpireAt) {
+					eldestExpireAt = e.getValue().expireAt;
+					eldestKey = e.getKey();
+				}
+			}
+			if (eldestKey == null || map.remove(eldestKey) == null)
+				return;
+			evictionCount.increment();
+		}
+	}
+
+	// 캐시 항목 (값, 만료시각)
+	private static final class Entry<V> {
+
+		private final V value;
+		private final long expireAt;
+
+		private Entry(V value, long expireAt) {
+			this.value = value;
+			this.expireAt = expireAt;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expireAt;
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.inside.idmcs.api.common.util.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.error.CustomException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 신분 확인, 등록 처리 중 서로 의존하지 않는 단계를 동시에 실행하는 컴포넌트.
+ *
+ * 크기가 제한된 전용 스레드 풀(parallel.pool.size, parallel.queue.capacity)에서 작업을 실행하며,
+ * 풀과 대기 큐가 모두 가득 차면 요청 스레드에서 바로 실행합니다. (순차 처리와 같은 동작)
+ * 호출한 쪽은 한 단계가 실패하면 cancel로 나머지 작업을 취소하고, join으로 결과를 기다립니다.
+ * 작업은 요청 스레드의 트랜잭션에 참여하지 않으므로 트랜잭션이 필요 없는 조회, 계산만 넘깁니다.
+ */
+@Slf4j
+@Component
+public class ParallelTasks {
+
+	// 결과를 반환하고 예외(CustomException 포함)를 던질 수 있는 작업
+	@FunctionalInterface
+	public interface Task<T> {
+		T call() throws Exception;
+	}
+
+	private final ThreadPoolExecutor executor;
+	private final LongAdder submittedCount = new LongAdder();
+	private final LongAdder cancelledCount = new LongAdder();
+
+	public ParallelTasks(@Value("${parallel.pool.size}") int poolSize,
+			@Value("${parallel.queue.capacity}") int queueCapacity) {
+		AtomicInteger threadNo = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "parallel-task-" + threadNo.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 작업을 전용 스레드 풀에서 실행하는 메서드.
+	 *
+	 * @param task 실행할 작업
+	 * @return 작업 결과 (작업에서 발생한 예외는 join 시 그대로 다시 던짐)
+	 */
+	public <T> CompletableFuture<T> fork(Task<T> task) {
+
+		submittedCount.increment();
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return task.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * 작업이 끝날 때까지 기다려 결과를 반환하는 메서드.
+	 *
+	 * 작업에서 발생한 CustomException, RuntimeException은 그대로 다시 던지므로 순차 실행과 같은 오류 코드가 유지됩니다.
+	 *
+	 * @param future fork로 실행한 작업
+	 * @return 작업 결과
+	 * @throws CustomException 작업에서 CustomException이 발생한 경우
+	 */
+	public <T> T join(CompletableFuture<T> future) throws CustomException {
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+					? e.getCause().getCause()
+					: e.getCause();
+			if (cause instanceof CustomException customException)
+				throw customException;
+			if (cause instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (cause instanceof Error error)
+				throw error;
+			throw new IllegalStateException(cause);
+		} catch (CancellationException e) {
+			throw new IllegalStateException("취소된 작업", e);
+		}
+	}
+
+	/**
+	 * 다른 단계가 실패하여 더 이상 필요 없는 작업을 취소하는 메서드.
+	 *
+	 * 아직 시작하지 않은 작업은 실행되지 않으며, 실행 중인 작업은 끝까지 수행되고 결과만 버립니다.
+	 *
+	 * @param futures 취소할 작업
+	 */
+	public void cancel(CompletableFuture<?>... futures) {
+
+		for (CompletableFuture<?> future : futures) {
+			if (future != null && future.cancel(true))
+				cancelledCount.increment();
+		}
+	}
+
+	/**
+	 * 주기적으로 스레드 풀 지표를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		log.info("parallel task stats : submitted={}, cancelled={}, active={}, queued={}, largestPool={}",
+				submittedCount.sum(), cancelledCount.sum(), executor.getActiveCount(), executor.getQueue().size(),
+				executor.getLargestPoolSize());
+	}
+
+	/**
+	 * 애플리케이션 종료 시 실행 중인 작업이 끝나도록 기다리는 메서드.
+	 */
+	@PreDestroy
+	public void shutdown() {
+
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+				log.warn("병렬 작업 종료 대기 시간 초과 (남은 작업 {}건)", executor.getQueue().size());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
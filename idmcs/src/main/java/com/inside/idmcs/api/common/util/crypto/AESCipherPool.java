@@ -0,0 +1,71 @@
+package com.inside.idmcs.api.common.util.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 스레드별로 초기화된 AES Cipher 객체를 재사용하기 위한 풀.
+ *
+ * Cipher는 스레드 안전하지 않으므로 스레드마다 (모드, 키) 기준의 작은 LRU 맵을 유지합니다.
+ * AES(ECB) Cipher는 doFinal 이후 초기화 직후 상태로 돌아가므로 같은 키로 다시 init 하지 않고 재사용할 수 있습니다.
+ */
+final class AESCipherPool {
+
+	// 스레드당 보관할 최대 Cipher 수 (요청 하나에서 사용하는 키는 encKey, appKey 정도)
+	private static final int MAX_CIPHERS_PER_THREAD = 8;
+
+	private final ThreadLocal<Map<String, Cipher>> ciphers = ThreadLocal
+			.withInitial(() -> new LinkedHashMap<String, Cipher>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Cipher> eldest) {
+					return size() > MAX_CIPHERS_PER_THREAD;
+				}
+			});
+
+	/**
+	 * 주어진 모드와 키로 초기화된 AES Cipher를 반환하는 메서드.
+	 *
+	 * 현재 스레드에 같은 모드와 키의 Cipher가 있으면 재사용하고, 없으면 새로 생성하여 보관합니다.
+	 *
+	 * @param mode Cipher.ENCRYPT_MODE 또는 Cipher.DECRYPT_MODE
+	 * @param key AES 키 문자열
+	 * @return 초기화된 Cipher 객체
+	 * @throws Exception Cipher 생성 또는 초기화 중 오류가 발생할 경우 발생하는 예외
+	 */
+	Cipher get(int mode, String key) throws Exception {
+
+		Map<String, Cipher> threadCiphers = ciphers.get();
+		String cacheKey = mode + ":" + key;
+
+		Cipher cipher = threadCiphers.get(cacheKey);
+		if (cipher == null) {
+			// AES 키를 바이트 배열로 변환
+			SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
+
+			// Cipher 객체를 AES 알고리즘으로 초기화
+			cipher = Cipher.getInstance("AES");
+			cipher.init(mode, secretKeySpec);
+			threadCiphers.put(cacheKey, cipher);
+		}
+		return cipher;
+	}
+
+	/**
+	 * 오류가 발생한 Cipher를 풀에서 제거하는 메서드.
+	 *
+	 * doFinal 도중 예외가 발생하면 Cipher 상태를 신뢰할 수 없으므로 다음 호출에서 새로 생성하도록 합니다.
+	 *
+	 * @param mode Cipher 모드
+	 * @param key AES 키 문자열
+	 */
+	void discard(int mode, String key) {
+		ciphers.get().remove(mode + ":" + key);
+	}
+
+}
@@ -1,13 +1,10 @@
 package com.inside.idmcs.api.common.util.crypto;
 
 import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
 import java.security.PrivateKey;
-import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Base64;
 
 import javax.crypto.Cipher;
-import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -15,6 +12,7 @@ import org.springframework.stereotype.Component;
 import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
 import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
 import com.inside.idmcs.api.common.model.dto.MobileRequest;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.util.parser.Parser;
@@ -26,9 +24,14 @@ import lombok.extern.slf4j.Slf4j;
 public class Crypto {
 
 	protected final Parser parser;
+	protected final PrivateKeyCache privateKeyCache;
 
-	public Crypto(Parser parser) {
+	// 스레드별 AES Cipher 재사용 풀
+	private static final AESCipherPool AES_CIPHER_POOL = new AESCipherPool();
+
+	public Crypto(Parser parser, PrivateKeyCache privateKeyCache) {
 		this.parser = parser;
+		this.privateKeyCache = privateKeyCache;
 	}
 
 	// application.properties 파일에서 encryption.enabled 값을 읽어옴
@@ -52,13 +55,26 @@ public class Crypto {
 		if (!encryptionEnabled)
 			return value;
 
-		// Base64로 인코딩된 개인키 문자열을 디코딩
-		byte[] privateKeyBytes = Base64.getDecoder().decode(key);
+		// Base64로 인코딩된 개인키 문자열을 PrivateKey 객체로 변환
+		return decryptRSA(value, privateKeyCache.parsePrivateKey(key));
+
+	}
 
-		// PKCS8EncodedKeySpec을 사용하여 PrivateKey 객체 생성
-		PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
-		KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-		PrivateKey privateKey = keyFactory.generatePrivate(keySpec);
+	/**
+	 * 이미 파싱된 RSA 개인키를 사용하여 암호화된 문자열을 복호화하는 메서드.
+	 *
+	 * 복호화가 비활성화된 경우, 입력된 값을 그대로 반환합니다.
+	 *
+	 * @param value 복호화할 Base64로 인코딩된 암호화된 문자열
+	 * @param privateKey RSA 개인키 객체
+	 * @return 복호화된 문자열
+	 * @throws Exception 복호화 중 오류가 발생할 경우 발생하는 예외
+	 */
+	public String decryptRSA(String value, PrivateKey privateKey) throws Exception {
+
+		// 암화화 설정 false면 그대로 리턴
+		if (!encryptionEnabled)
+			return value;
 
 		// Base64로 인코딩된 암호화된 encKey를 디코딩
 		byte[] encryptedBytes = Base64.getDecoder().decode(value);
@@ -71,7 +87,7 @@ public class Crypto {
 		byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
 
 		// 복호화된 바이트 배열을 문자열로 변환하여 반환
-		return new String(decryptedBytes, "UTF-8");
+		return new String(decryptedBytes, StandardCharsets.UTF_8);
 
 	}
 
@@ -92,24 +108,35 @@ public class Crypto {
 		if (!encryptionEnabled)
 			return value;
 
-		// AES 키를 바이트 배열로 변환
-		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-		SecretKeySpec secretKeySpec = new SecretKeySpec(keyBytes, "AES");
-
-		// Cipher 객체를 AES 알고리즘으로 초기화 (복호화 모드)
-		Cipher cipher = Cipher.getInstance("AES");
-		cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
-
 		// Base64로 인코딩된 문자열을 바이트 배열로 변환
 		byte[] encryptedBytes = Base64.getDecoder().decode(value);
 
 		// AES 복호화 수행
-		byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
+		byte[] decryptedBytes = doFinalAES(Cipher.DECRYPT_MODE, encryptedBytes, key);
 
 		// 복호화된 바이트 배열을 문자열로 변환하여 반환
 		return new String(decryptedBytes, StandardCharsets.UTF_8);
 	}
 
+	/**
+	 * AES 알고리즘을 사용하여 암호화된 바이트 배열을 복호화하는 메서드. (사진 등 바이너리 데이터)
+	 *
+	 * Base64 변환 없이 바이트 배열을 그대로 복호화합니다.
+	 * 복호화가 비활성화된 경우, 입력된 값을 그대로 반환합니다.
+	 *
+	 * @param value 복호화할 바이트 배열
+	 * @param key AES 복호화에 사용할 키 문자열
+	 * @return 복호화된 바이트 배열
+	 * @throws Exception 키 생성 또는 복호화 중 오류가 발생할 경우 발생하는 예외
+	 */
+	public byte[] decryptAES(byte[] value, String key) throws Exception {
+
+		if (value == null || !encryptionEnabled)
+			return value;
+
+		return doFinalAES(Cipher.DECRYPT_MODE, value, key);
+	}
+
 	/**
 	 * AES 알고리즘을 사용하여 문자열을 암호화하는 메서드.
 	 *
@@ -132,23 +159,34 @@ public class Crypto {
 		if (!encryptionEnabled)
 			return value;
 
-		// AES 키를 바이트 배열로 변환
-		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-		SecretKeySpec secretKeySpec = new SecretKeySpec(keyBytes, "AES");
-
-		// Cipher 객체를 AES 알고리즘으로 초기화 (암호화 모드)
-		Cipher cipher = Cipher.getInstance("AES");
-		cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
-
 		// 암호화할 문자열을 바이트 배열로 변환
 		byte[] plainTextBytes = value.getBytes(StandardCharsets.UTF_8);
 
 		// AES 암호화 수행
-		byte[] encryptedBytes = cipher.doFinal(plainTextBytes);
+		byte[] encryptedBytes = doFinalAES(Cipher.ENCRYPT_MODE, plainTextBytes, key);
 
 		// 암호화된 바이트 배열을 Base64로 인코딩하여 문자열로 반환
 		return Base64.getEncoder().encodeToString(encryptedBytes);
 	}
+
+	/**
+	 * AES 알고리즘을 사용하여 바이트 배열을 암호화하는 메서드. (사진 등 바이너리 데이터)
+	 *
+	 * 문자열, Base64 변환 없이 바이트 배열을 그대로 암호화하며, Base64 인코딩은 응답(JSON) 직렬화 시 한 번만 수행됩니다.
+	 * 암호화가 비활성화된 경우, 입력된 값을 그대로 반환합니다.
+	 *
+	 * @param value 암호화할 바이트 배열
+	 * @param key AES 암호화에 사용할 키 문자열
+	 * @return 암호화된 바이트 배열
+	 * @throws Exception 키 생성 또는 암호화 중 오류가 발생할 경우 발생하는 예외
+	 */
+	public byte[] encryptAES(byte[] value, String key) throws Exception {
+
+		if (value == null || !encryptionEnabled)
+			return value;
+
+		return doFinalAES(Cipher.ENCRYPT_MODE, value, key);
+	}
 	
 	/**
 	 * AES 알고리즘을 사용하여 MobileRequest 객체의 특정 필드를 복호화하는 메서드.
@@ -196,11 +234,11 @@ public class Crypto {
 	 * 입력된 ReqVO 객체를 그대로 반환합니다.
 	 *
 	 * @param reqVO 복호화할 ReqVO 객체
-	 * @param privateKey RSA 복호화에 사용할 개인키 문자열
+	 * @param instAndAppInfo RSA 복호화에 사용할 개인키 정보를 포함한 기관앱정보 (appNo 기준으로 파싱된 개인키 캐시)
 	 * @return 복호화된 데이터를 가진 새로운 ReqVO 객체
 	 * @throws CustomException 복호화 과정에서 오류가 발생할 경우 F109 예외를 발생시킴
 	 */
-	public ReqVO decryptReqVO(ReqVO reqVO, String privateKey) throws CustomException {
+	public ReqVO decryptReqVO(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo) throws CustomException {
 		if (!encryptionEnabled) // 암호화 설정 false면 그대로 리턴
 			return reqVO;
 
@@ -209,7 +247,7 @@ public class Crypto {
 			ReqVO decrytReqVO = parser.inputDataToReqVO(reqVO);
 			
 			// encKey RSA 복화화
-			String encKey = decryptRSA(reqVO.getEncKey(), privateKey);
+			String encKey = decryptRSA(reqVO.getEncKey(), privateKeyCache.getPrivateKey(instAndAppInfo));
 			decrytReqVO.setEncKey(encKey);
 
 			// ReqVO의 MobileRequest 정보 파싱
@@ -257,6 +295,9 @@ public class Crypto {
 			encryptIdInfo.setPhoto(encryptAES(idInfo.getPhoto(), appKey));
 			encryptIdInfo.setIssuedInstNm(encryptAES(idInfo.getIssuedInstNm(), appKey));
 
+			// 사진 해시는 ETag로 사용하므로 암호화하지 않음
+			encryptIdInfo.setPhotoHash(idInfo.getPhotoHash());
+
 			return encryptIdInfo;
 
 		} catch (Exception e) {
@@ -265,4 +306,16 @@ public class Crypto {
 
 	}
 
+	// 현재 스레드에서 초기화된 Cipher 재사용 (doFinal 실패 시 Cipher 폐기)
+	private byte[] doFinalAES(int mode, byte[] input, String key) throws Exception {
+
+		Cipher cipher = AES_CIPHER_POOL.get(mode, key);
+		try {
+			return cipher.doFinal(input);
+		} catch (Exception e) {
+			AES_CIPHER_POOL.discard(mode, key);
+			throw e;
+		}
+	}
+
 }
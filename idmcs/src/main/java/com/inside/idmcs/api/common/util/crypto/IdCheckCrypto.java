@@ -10,8 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class IdCheckCrypto extends IdCrypto {
 	
-	public IdCheckCrypto(Parser parser) {
-		super(parser);
+	public IdCheckCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 
 }
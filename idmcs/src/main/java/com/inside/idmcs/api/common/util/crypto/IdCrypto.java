@@ -7,8 +7,8 @@ import com.inside.idmcs.api.common.util.parser.Parser;
 @Component
 public class IdCrypto extends Crypto{
 
-	public IdCrypto(Parser parser) {
-		super(parser);
+	public IdCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 	
 }
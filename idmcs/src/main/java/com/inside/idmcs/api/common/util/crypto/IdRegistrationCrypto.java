@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
 import com.inside.idmcs.api.common.model.dto.IdRequest;
+import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
 import com.inside.idmcs.api.common.model.dto.MobileRequest;
 import com.inside.idmcs.api.common.model.vo.req.IdRegistrationReqVO;
 import com.inside.idmcs.api.common.util.parser.Parser;
@@ -15,8 +16,8 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class IdRegistrationCrypto extends IdCrypto {
 
-	public IdRegistrationCrypto(Parser parser) {
-		super(parser);
+	public IdRegistrationCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 
 	/**
@@ -26,11 +27,11 @@ public class IdRegistrationCrypto extends IdCrypto {
 	 * IdRequest 데이터를 복호화합니다. 복호화가 비활성화된 경우, 입력된 IdRegistrationReqVO 객체를 그대로 반환합니다.
 	 *
 	 * @param idRegistrationReqVO 복호화할 IdRegistrationReqVO 객체
-	 * @param privateKey RSA 복호화에 사용할 개인키 문자열
+	 * @param instAndAppInfo RSA 복호화에 사용할 개인키 정보를 포함한 기관앱정보
 	 * @return 복호화된 데이터를 가진 새로운 IdRegistrationReqVO 객체
 	 * @throws CustomException 복호화 과정에서 오류가 발생할 경우 F109 예외를 발생시킴
 	 */
-	public IdRegistrationReqVO decryptReqVO(IdRegistrationReqVO idRegistrationReqVO, String privateKey)
+	public IdRegistrationReqVO decryptReqVO(IdRegistrationReqVO idRegistrationReqVO, InstitutionAndApplicationInfo instAndAppInfo)
 			throws CustomException {
 
 		// 암화화 설정 false면 그대로 리턴
@@ -43,7 +44,7 @@ public class IdRegistrationCrypto extends IdCrypto {
 					idRegistrationReqVO.getAgencyToken(), idRegistrationReqVO.getApplicationToken());
 
 			// encKey RSA 복화화
-			String encKey = decryptRSA(idRegistrationReqVO.getEncKey(), privateKey);
+			String encKey = decryptRSA(idRegistrationReqVO.getEncKey(), privateKeyCache.getPrivateKey(instAndAppInfo));
 			decrytIdRegistrationReqVO.setEncKey(encKey);
 			
 			// ReqVO의 MobileRequest 정보 파싱
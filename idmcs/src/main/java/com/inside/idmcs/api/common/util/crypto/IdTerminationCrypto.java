@@ -7,7 +7,7 @@ import com.inside.idmcs.api.common.util.parser.Parser;
 @Component
 public class IdTerminationCrypto extends IdCrypto {
 
-	public IdTerminationCrypto(Parser parser) {
-		super(parser);
+	public IdTerminationCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 }
@@ -0,0 +1,38 @@
+package com.inside.idmcs.api.common.util.crypto;
+
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+import com.inside.idmcs.api.common.util.parser.Parser;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class PhotoCrypto extends IdCrypto {
+
+	public PhotoCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
+	}
+
+	/**
+	 * 사진 데이터를 직원 appKey로 AES 암호화하는 메서드.
+	 *
+	 * 암호화가 비활성화된 경우, 입력된 사진 데이터를 그대로 반환합니다.
+	 *
+	 * @param photo 암호화할 사진 데이터 (이미지 바이너리)
+	 * @param appKey AES 암호화에 사용할 키 문자열
+	 * @return 암호화된 사진 데이터
+	 * @throws CustomException 암호화 과정에서 오류가 발생할 경우 F110 예외를 발생시킴
+	 */
+	public byte[] encryptPhoto(byte[] photo, String appKey) throws CustomException {
+
+		try {
+			return encryptAES(photo, appKey);
+		} catch (Exception e) {
+			throw new CustomException(ErrorCode.F110);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.inside.idmcs.api.common.util.crypto;
+
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 애플리케이션별로 파싱된 RSA 개인키(PrivateKey)를 보관하는 캐시.
+ *
+ * 키는 appNo이며, 키 유효기간(시작일, 만료일)과 Base64 개인키 문자열이 모두 일치할 때만 캐시된 값을 사용합니다.
+ * 키가 재발급되어 값이 달라지면 다시 파싱하여 교체하고, 공개키 발급 시에는 evict로 즉시 제거합니다.
+ * (트랜잭션 안에서 호출되면 커밋 후 한 번 더 제거)
+ */
+@Slf4j
+@Component
+public class PrivateKeyCache {
+
+	private final Map<Long, CachedKey> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * 기관앱정보의 개인키에 해당하는 PrivateKey 객체를 반환하는 메서드.
+	 *
+	 * 캐시된 키의 유효기간과 개인키 문자열이 기관앱정보와 같으면 캐시된 객체를 반환하고,
+	 * 그렇지 않으면 PKCS8 형식으로 파싱하여 캐시에 저장한 뒤 반환합니다.
+	 *
+	 * @param instAndAppInfo 개인키와 키 유효기간 정보를 포함한 기관앱정보
+	 * @return 파싱된 RSA 개인키
+	 * @throws Exception 개인키 디코딩 또는 생성 중 오류가 발생할 경우 발생하는 예외
+	 */
+	public PrivateKey getPrivateKey(InstitutionAndApplicationInfo instAndAppInfo) throws Exception {
+
+		CachedKey cached = cache.get(instAndAppInfo.getAppNo());
+		if (cached != null && cached.matches(instAndAppInfo))
+			return cached.privateKey;
+
+		// 캐시에 없거나 키가 변경된 경우 새로 파싱
+		PrivateKey privateKey = parsePrivateKey(instAndAppInfo.getPrivateKey());
+		cache.put(instAndAppInfo.getAppNo(), new CachedKey(instAndAppInfo.getKeyVldBgngYmd(),
+				instAndAppInfo.getKeyVldEndYmd(), instAndAppInfo.getPrivateKey(), privateKey));
+
+		log.debug("개인키 캐시 갱신 (appNo: {})", instAndAppInfo.getAppNo());
+		return privateKey;
+	}
+
+	/**
+	 * 애플리케이션의 캐시된 개인키를 제거하는 메서드.
+	 *
+	 * 트랜잭션 안에서 호출되면 커밋 전에 다시 적재된 이전 개인키가 남지 않도록 커밋 후 한 번 더 제거합니다.
+	 *
+	 * @param appNo 캐시에서 제거할 애플리케이션 번호
+	 */
+	public void evict(long appNo) {
+
+		cache.remove(appNo);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.remove(appNo);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Base64로 인코딩된 PKCS8 개인키 문자열을 PrivateKey 객체로 변환하는 메서드.
+	 *
+	 * @param key Base64로 인코딩된 RSA 개인키 문자열
+	 * @return 변환된 RSA 개인키
+	 * @throws Exception 키 디코딩 또는 생성 중 오류가 발생할 경우 발생하는 예외
+	 */
+	public PrivateKey parsePrivateKey(String key) throws Exception {
+
+		// Base64로 인코딩된 개인키 문자열을 디코딩
+		byte[] privateKeyBytes = Base64.getDecoder().decode(key);
+
+		// PKCS8EncodedKeySpec을 사용하여 PrivateKey 객체 생성
+		PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
+		KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+		return keyFactory.generatePrivate(keySpec);
+	}
+
+	// 캐시 항목 (키 유효기간, 원본 개인키 문자열, 파싱된 개인키)
+	private static final class CachedKey {
+
+		private final String keyVldBgngYmd;
+		private final String keyVldEndYmd;
+		private final String encodedKey;
+		private final PrivateKey privateKey;
+
+		private CachedKey(String keyVldBgngYmd, String keyVldEndYmd, String encodedKey, PrivateKey privateKey) {
+			this.keyVldBgngYmd = keyVldBgngYmd;
+			this.keyVldEndYmd = keyVldEndYmd;
+			this.encodedKey = encodedKey;
+			this.privateKey = privateKey;
+		}
+
+		private boolean matches(InstitutionAndApplicationInfo instAndAppInfo) {
+			return Objects.equals(keyVldBgngYmd, instAndAppInfo.getKeyVldBgngYmd())
+					&& Objects.equals(keyVldEndYmd, instAndAppInfo.getKeyVldEndYmd())
+					&& Objects.equals(encodedKey, instAndAppInfo.getPrivateKey());
+		}
+	}
+
+}
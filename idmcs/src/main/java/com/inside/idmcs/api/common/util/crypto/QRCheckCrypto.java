@@ -13,8 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class QRCheckCrypto extends QRCrypto {
 
-	public QRCheckCrypto(Parser parser) {
-		super(parser);
+	public QRCheckCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 	
 	/**
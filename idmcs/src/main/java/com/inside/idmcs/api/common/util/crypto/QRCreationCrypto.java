@@ -7,8 +7,8 @@ import com.inside.idmcs.api.common.util.parser.Parser;
 @Component
 public class QRCreationCrypto extends QRCrypto{
 
-	public QRCreationCrypto(Parser parser) {
-		super(parser);
+	public QRCreationCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 
 }
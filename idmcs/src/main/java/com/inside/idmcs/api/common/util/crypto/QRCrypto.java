@@ -7,8 +7,8 @@ import com.inside.idmcs.api.common.util.parser.Parser;
 @Component
 public class QRCrypto extends Crypto{
 
-	public QRCrypto(Parser parser) {
-		super(parser);
+	public QRCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 
 }
@@ -7,8 +7,8 @@ import com.inside.idmcs.api.common.util.parser.Parser;
 @Component
 public class QRHistoryCrypto extends QRCrypto {
 
-	public QRHistoryCrypto(Parser parser) {
-		super(parser);
+	public QRHistoryCrypto(Parser parser, PrivateKeyCache privateKeyCache) {
+		super(parser, privateKeyCache);
 	}
 
 }
@@ -5,6 +5,8 @@ import java.io.IOException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
+import com.inside.idmcs.api.common.util.logging.Logging;
+
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,6 +17,12 @@ import jakarta.servlet.http.HttpServletRequest;
 @Component
 public class RequestFilter implements Filter {
 
+	private final Logging logging;
+
+	public RequestFilter(Logging logging) {
+		this.logging = logging;
+	}
+
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
@@ -22,8 +30,13 @@ public class RequestFilter implements Filter {
 		HttpServletRequest httpServletRequest = (HttpServletRequest) request;
         ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(httpServletRequest);
 
-        // 다음 필터로 넘어가도록 함
-        chain.doFilter(wrappedRequest, response);
+        try {
+        	// 다음 필터로 넘어가도록 함
+        	chain.doFilter(wrappedRequest, response);
+        } finally {
+        	// 요청 처리 중 누적된 로그를 한 번에 저장
+        	logging.flushRequestLogs(wrappedRequest);
+        }
 		
 	}
 
@@ -0,0 +1,44 @@
+package com.inside.idmcs.api.common.util.fingerprint;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
+
+/**
+ * 신분정보 지문(employee.sync_hash) 생성 컴포넌트.
+ *
+ * 신분 등록 시 저장하는 지문과 신분 확인 시 비교하는 지문이 같은 방식으로 만들어지도록 한 곳에서 생성합니다.
+ * 지문 대상 값의 순서나 구성이 바뀌면 버전을 올려 다음 신분 확인 시 한 번 다시 저장되도록 합니다.
+ */
+@Component
+public class IdInfoFingerprint {
+
+	private static final String SYNC_HASH_VERSION = "v1";
+	private static final String SYNC_HASH_SEPARATOR = "\u001f";
+
+	private final PhotoDelivery photoDelivery;
+
+	public IdInfoFingerprint(PhotoDelivery photoDelivery) {
+		this.photoDelivery = photoDelivery;
+	}
+
+	/**
+	 * 신분정보 저장(updateIdInfo, saveIdInfo) 대상 값으로 신분정보 지문을 생성하는 메서드.
+	 *
+	 * @param idInfo 신분정보
+	 * @return 신분정보 지문 (SHA-256, Base64URL)
+	 */
+	public String createSyncHash(IdInfo idInfo) {
+
+		String joined = String.join(SYNC_HASH_SEPARATOR, SYNC_HASH_VERSION,
+				idInfo.getBirthDay(), idInfo.getUserName(), idInfo.getSubCode(), idInfo.getIssuedYmd(),
+				idInfo.getCi(), idInfo.getAddress(), idInfo.getDetailAddress(), idInfo.getMobileNo(),
+				idInfo.getTelecom(), idInfo.getStatus(), idInfo.getIdStatus(), idInfo.getDeviceInfo(),
+				idInfo.getIssuedInstNm(), idInfo.getAppKey());
+		return photoDelivery.hash(joined.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.inside.idmcs.api.common.util.http;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내부 API 호출용 커넥션 풀 지표를 제공하는 컴포넌트.
+ *
+ * 사용 중(leased), 대기 중(pending), 유휴(available) 연결 수와 최대 연결 수를 전체/경로(호스트)별로 로그에 남깁니다.
+ * pending이 계속 0보다 크면 api.client.pool.max.per.route(또는 max.total)가 부족하거나 내부 API가 느린 상태입니다.
+ */
+@Slf4j
+@Component
+public class HttpClientPoolMonitor {
+
+	private final PoolingHttpClientConnectionManager apiConnectionManager;
+
+	public HttpClientPoolMonitor(PoolingHttpClientConnectionManager apiConnectionManager) {
+		this.apiConnectionManager = apiConnectionManager;
+	}
+
+	/**
+	 * 커넥션 풀 전체 지표를 반환하는 메서드.
+	 *
+	 * @return 전체 커넥션 풀 지표 (leased, pending, available, max)
+	 */
+	public PoolStats getTotalStats() {
+		return apiConnectionManager.getTotalStats();
+	}
+
+	/**
+	 * 주기적으로 커넥션 풀 지표를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${api.client.stats.interval.ms}", initialDelayString = "${api.client.stats.interval.ms}")
+	public void logStats() {
+
+		PoolStats total = getTotalStats();
+		log.info("api client pool stats : leased={}, pending={}, available={}, max={}", total.getLeased(),
+				total.getPending(), total.getAvailable(), total.getMax());
+
+		for (HttpRoute route : apiConnectionManager.getRoutes()) {
+			PoolStats stats = apiConnectionManager.getStats(route);
+			log.info("api client pool stats ({}) : leased={}, pending={}, available={}, max={}", route.getTargetHost(),
+					stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+		}
+	}
+
+}
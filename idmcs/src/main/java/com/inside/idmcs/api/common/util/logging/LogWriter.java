@@ -0,0 +1,339 @@
+package com.inside.idmcs.api.common.util.logging;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inside.idmcs.api.common.model.dto.LogRecord;
+import com.inside.idmcs.api.common.util.logging.dao.LoggingDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 완성된 요청 로그(LogRecord)를 모아 JDBC 배치로 저장하는 백그라운드 writer.
+ *
+ * Logging에서 넘겨받은 로그를 크기가 제한된 큐에 쌓아두고, 전용 writer 스레드 하나가 순서대로
+ * 최대 batchSize 건씩 꺼내 MyBatis BATCH 세션으로 저장합니다. (같은 logPk의 로그는 들어온 순서대로 저장)
+ * 큐가 가득 찬 경우의 처리는 log.writer.overflow.policy 설정을 따릅니다.
+ * - block : 지정 시간 동안 빈 자리를 기다리고, 그래도 없으면 버림
+ * - drop-oldest : 가장 오래된 로그를 버리고 추가
+ * - spill : 파일(NDJSON)에 기록해 두고 큐가 비었을 때 다시 저장
+ */
+@Slf4j
+@Component
+public class LogWriter {
+
+	// 큐가 가득 찼을 때의 처리 방식
+	public enum OverflowPolicy {
+		BLOCK, DROP_OLDEST, SPILL
+	}
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final SqlSessionFactory sqlSessionFactory;
+	private final BlockingQueue<LogRecord> queue;
+	private final OverflowPolicy overflowPolicy;
+	private final ExecutorService writerExecutor;
+
+	@Value("${log.writer.batch.size}")
+	private int batchSize;
+
+	@Value("${log.writer.flush.interval.ms}")
+	private long flushIntervalMs;
+
+	@Value("${log.writer.block.timeout.ms}")
+	private long blockTimeoutMs;
+
+	@Value("${log.writer.spill.path}")
+	private String spillPath;
+
+	private volatile boolean running = true;
+
+	// spill 재저장 실패 시 다음 시도까지 대기 시간(밀리초)
+	private static final long SPILL_REPLAY_BACKOFF_MS = 30000;
+	private long nextReplayMillis;
+
+	// 큐 지표
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final LongAdder enqueuedCount = new LongAdder();
+	private final LongAdder writtenCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder spilledCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+
+	public LogWriter(SqlSessionFactory sqlSessionFactory,
+			@Value("${log.writer.queue.capacity}") int queueCapacity,
+			@Value("${log.writer.overflow.policy}") String overflowPolicy) {
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+		this.writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "log-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 전용 writer 스레드를 시작하는 메서드.
+	 */
+	@PostConstruct
+	public void start() {
+		writerExecutor.execute(this::runWriter);
+	}
+
+	/**
+	 * 저장할 로그를 큐에 추가하는 메서드. 큐가 가득 찬 경우 overflow 정책에 따라 처리합니다.
+	 *
+	 * @param logRecord 저장할 누적 로그
+	 */
+	public void enqueue(LogRecord logRecord) {
+
+		boolean added;
+		switch (overflowPolicy) {
+		case BLOCK:
+			try {
+				added = queue.offer(logRecord, blockTimeoutMs, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				added = false;
+			}
+			if (!added) {
+				droppedCount.increment();
+				log.warn("로그 큐 포화로 로그 버림 ({})", logRecord.getLogPk());
+			}
+			break;
+		case DROP_OLDEST:
+			added = queue.offer(logRecord);
+			while (!added) {
+				LogRecord dropped = queue.poll();
+				if (dropped != null) {
+					droppedCount.increment();
+					log.warn("로그 큐 포화로 오래된 로그 버림 ({})", dropped.getLogPk());
+				}
+				added = queue.offer(logRecord);
+			}
+			break;
+		default:
+			added = queue.offer(logRecord);
+			if (!added)
+				spill(List.of(logRecord));
+			break;
+		}
+
+		if (added) {
+			enqueuedCount.increment();
+			maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+		}
+	}
+
+	/**
+	 * 애플리케이션 종료 시 writer 스레드가 남은 로그를 저장하고 끝나도록 하는 메서드.
+	 */
+	@PreDestroy
+	public void shutdown() {
+
+		running = false;
+		writerExecutor.shutdown();
+		try {
+			if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS))
+				log.warn("로그 writer 종료 대기 시간 초과 (남은 로그 {}건)", queue.size());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	public long getEnqueuedCount() {
+		return enqueuedCount.sum();
+	}
+
+	public long getWrittenCount() {
+		return writtenCount.sum();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	public long getSpilledCount() {
+		return spilledCount.sum();
+	}
+
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * 주기적으로 로그 큐 지표를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${log.writer.stats.interval.ms}", initialDelayString = "${log.writer.stats.interval.ms}")
+	public void logStats() {
+		log.info("log writer stats : policy={}, depth={}, maxDepth={}, enqueued={}, written={}, dropped={}, spilled={}, failed={}",
+				overflowPolicy, getQueueDepth(), maxQueueDepth.getAndSet(getQueueDepth()), getEnqueuedCount(),
+				getWrittenCount(), getDroppedCount(), getSpilledCount(), getFailedCount());
+	}
+
+	// writer 스레드 : 큐에서 로그를 꺼내 배치 저장, 큐가 비면 spill 파일 재저장
+	private void runWriter() {
+
+		List<LogRecord> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				LogRecord first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					replaySpill();
+					continue;
+				}
+
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				log.error("로그 writer 오류: {}", e.getMessage(), e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * 로그 목록을 BATCH 세션으로 한 번에 저장하는 메서드. 실패 시 spill 정책이면 파일에 기록합니다.
+	 *
+	 * @param batch 저장할 로그 목록
+	 * @return 저장 성공 여부
+	 */
+	private boolean write(List<LogRecord> batch) {
+
+		try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+			LoggingDao loggingDao = session.getMapper(LoggingDao.class);
+			for (LogRecord logRecord : batch)
+				loggingDao.saveLogRecord(logRecord);
+
+			session.flushStatements();
+			session.commit();
+			writtenCount.add(batch.size());
+			return true;
+		} catch (Exception e) {
+			failedCount.add(batch.size());
+			log.error("로그 배치 저장 실패 ({}건): {}, 오류: {}", batch.size(),
+					batch.stream().map(LogRecord::getLogPk).toList(), e.getMessage(), e);
+			if (overflowPolicy == OverflowPolicy.SPILL)
+				spill(batch);
+			return false;
+		}
+	}
+
+	// 로그를 spill 파일에 한 줄씩(JSON) 추가
+	private synchronized void spill(List<LogRecord> logRecords) {
+
+		Path path = Paths.get(spillPath);
+		try {
+			if (path.getParent() != null)
+				Files.createDirectories(path.getParent());
+
+			try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				for (LogRecord logRecord : logRecords) {
+					writer.write(objectMapper.writeValueAsString(logRecord));
+					writer.newLine();
+				}
+			}
+			spilledCount.add(logRecords.size());
+		} catch (IOException e) {
+			droppedCount.add(logRecords.size());
+			log.error("로그 spill 실패 ({}건): {}", logRecords.size(), e.getMessage(), e);
+		}
+	}
+
+	// 큐가 비어 있을 때 spill 파일의 로그를 다시 저장 (저장 실패 시 다시 spill 되며 잠시 후 재시도)
+	private void replaySpill() {
+
+		if (overflowPolicy != OverflowPolicy.SPILL || System.currentTimeMillis() < nextReplayMillis)
+			return;
+
+		Path path = Paths.get(spillPath);
+		Path replayPath = Paths.get(spillPath + ".replay");
+
+		// 이전에 처리하지 못한 replay 파일이 없으면 spill 파일을 replay 파일로 이동
+		if (!Files.exists(replayPath)) {
+			synchronized (this) {
+				if (!Files.exists(path))
+					return;
+				try {
+					Files.move(path, replayPath);
+				} catch (IOException e) {
+					log.error("spill 파일 이동 실패: {}", e.getMessage(), e);
+					return;
+				}
+			}
+		}
+
+		boolean success = true;
+		try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+			List<LogRecord> batch = new ArrayList<>(batchSize);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank())
+					continue;
+				batch.add(objectMapper.readValue(line, LogRecord.class));
+				if (batch.size() >= batchSize) {
+					success &= write(batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty())
+				success &= write(batch);
+		} catch (IOException e) {
+			log.error("spill 로그 재저장 실패: {}", e.getMessage(), e);
+			nextReplayMillis = System.currentTimeMillis() + SPILL_REPLAY_BACKOFF_MS;
+			return;
+		}
+
+		try {
+			Files.delete(replayPath);
+		} catch (IOException e) {
+			log.error("replay 파일 삭제 실패: {}", e.getMessage(), e);
+		}
+
+		if (!success)
+			nextReplayMillis = System.currentTimeMillis() + SPILL_REPLAY_BACKOFF_MS;
+		log.info("spill 로그 재저장 {}", success ? "완료" : "일부 실패 (다시 spill 됨)");
+	}
+
+}
@@ -2,27 +2,47 @@ package com.inside.idmcs.api.common.util.logging;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.inside.idmcs.api.common.error.ErrorCode;
 import com.inside.idmcs.api.common.model.dto.IdInfo;
 import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
+import com.inside.idmcs.api.common.model.dto.LogRecord;
 import com.inside.idmcs.api.common.model.dto.RequestInfo;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
-import com.inside.idmcs.api.common.util.logging.dao.LoggingDao;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class Logging {
 
-	private final LoggingDao loggingDao;
+	// 현재 요청에서 생성된 logPk 목록을 담는 request attribute 이름
+	public static final String LOG_PK_ATTRIBUTE = Logging.class.getName() + ".logPks";
 
-	public Logging(LoggingDao loggingDao) {
-		this.loggingDao = loggingDao;
+	private final LogWriter logWriter;
+
+	// 저장 대기 중인 요청별 누적 로그 (logPk 기준)
+	private final Map<String, LogRecord> pendingLogs = new ConcurrentHashMap<>();
+
+	// 요청 종료 시 저장되지 않은 누적 로그를 강제로 저장하기까지의 시간(밀리초)
+	@Value("${log.pending.max.age.ms}")
+	private long pendingMaxAgeMs;
+
+	public Logging(LogWriter logWriter) {
+		this.logWriter = logWriter;
 	}
 
 	/**
@@ -49,6 +69,9 @@ public class Logging {
 			// logPrimaryKey 값
 			String logPk = String.format("%s%04d", formattedNow, randomNumber);
 
+			// 요청 종료 시 누적 로그를 저장할 수 있도록 현재 요청에 logPk 등록
+			registerToCurrentRequest(logPk);
+
 			return logPk;
 
 		} catch (Exception e) {
@@ -58,145 +81,283 @@ public class Logging {
 	}
 
 	/**
-	 * 비동기로 로그를 업데이트하는 메서드입니다. 주어진 결과 코드, 결과 메시지, JSON 응답 데이터를 이용해 로그를 갱신합니다. 로그 갱신
-	 * 중 오류가 발생하면 예외를 처리하고 에러 로그를 남깁니다.
+	 * 결과 정보를 로그에 누적하는 메서드입니다. 주어진 결과 코드, 결과 메시지, JSON 응답 데이터를 로그에 담고,
+	 * 요청이 끝나면 LogWriter를 통해 비동기로 저장됩니다.
 	 *
 	 * @param logPk         로그의 고유 식별자 (기본 키)
 	 * @param resultCode    처리 결과 코드
 	 * @param resultMessage 처리 결과 메시지
 	 * @param jsonRes       처리 결과를 포함한 JSON 형식의 응답 데이터
 	 */
-	@Async
-	public void saveLogAsync(String logPk, String resultCode, String resultMessage, String jsonRes) {
-		try {
-			if (loggingDao.saveLogWithRes(logPk, resultCode, resultMessage, jsonRes) == 0)
-				log.error("업뎃실패(결과)");
-		} catch (Exception e) {
-			log.error("로그갱신(결과) 실패: {}, 결과Res{}, 오류: {}" + logPk, jsonRes, e.getMessage(), e);
-		}
+	public void appendLog(String logPk, String resultCode, String resultMessage, String jsonRes) {
+		merge(logPk, logRecord -> {
+			setIfNotNull(logRecord::setResCd, resultCode);
+			setIfNotNull(logRecord::setResMsg, resultMessage);
+			setIfNotNull(logRecord::setJsonRes, jsonRes);
+		});
 	}
 
 	/**
-	 * 비동기적으로 로그를 갱신하는 메서드.
+	 * 기관앱정보를 로그에 누적하는 메서드.
 	 * 
-	 * 이 메서드는 주어진 로그 기본 키와 에러 코드를 사용하여 로그를 갱신하며, 갱신 작업이 성공 또는 실패할 경우 각각의 메시지를 출력합니다.
-	 * 로그 갱신 작업은 비동기적으로 수행됩니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 기관앱정보(키정보 포함)를 담습니다.
 	 * 
 	 * @param logPk          로그 기본 키 (고유 식별자)
 	 * @param instAndAppInfo 로그 갱신 시 사용할 기관앱정보
 	 */
-	@Async
-	public void saveLogAsync(String logPk, InstitutionAndApplicationInfo instAndAppInfo) {
-		
-		try {
-			Thread.sleep(8);
-			if (loggingDao.saveLogWithInstAndAppInfo(logPk, instAndAppInfo) == 0)
-				log.error("업뎃실패(기관앱정보)");
-		} catch (Exception e) {
-			log.error("로그갱신(기관앱정보) 실패 ({}): {}, 오류: {}", logPk, instAndAppInfo, e.getMessage(), e);
-		}
+	public void appendLog(String logPk, InstitutionAndApplicationInfo instAndAppInfo) {
+		if (instAndAppInfo == null)
+			return;
+
+		merge(logPk, logRecord -> {
+			logRecord.setInstNo(instAndAppInfo.getInstNo());
+			setIfNotNull(logRecord::setInstNm, instAndAppInfo.getInstNm());
+			setIfNotNull(logRecord::setInstToken, instAndAppInfo.getInstToken());
+			setIfNotNull(logRecord::setInstVldBgngYmd, instAndAppInfo.getInstVldBgngYmd());
+			setIfNotNull(logRecord::setInstVldEndYmd, instAndAppInfo.getInstVldEndYmd());
+			logRecord.setAppNo(instAndAppInfo.getAppNo());
+			setIfNotNull(logRecord::setAppNm, instAndAppInfo.getAppNm());
+			setIfNotNull(logRecord::setAppToken, instAndAppInfo.getAppToken());
+			setIfNotNull(logRecord::setAppVldBgngYmd, instAndAppInfo.getAppVldBgngYmd());
+			setIfNotNull(logRecord::setAppVldEndYmd, instAndAppInfo.getAppVldEndYmd());
+			setIfNotNull(logRecord::setPublicKey, instAndAppInfo.getPublicKey());
+			setIfNotNull(logRecord::setPrivateKey, instAndAppInfo.getPrivateKey());
+			setIfNotNull(logRecord::setKeyVldBgngYmd, instAndAppInfo.getKeyVldBgngYmd());
+			setIfNotNull(logRecord::setKeyVldEndYmd, instAndAppInfo.getKeyVldEndYmd());
+		});
 	}
 	
 	/**
-	 * 비동기적으로 신분 정보(IdInfo)를 포함한 로그를 저장하는 메서드.
+	 * 신분 정보(IdInfo)를 로그에 누적하는 메서드.
 	 *
-	 * 이 메서드는 주어진 로그 기본 키와 IdInfo 객체를 사용하여 비동기적으로 로그를 저장합니다.
-	 * 로그 저장이 실패한 경우 오류를 기록합니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 IdInfo 객체의 정보를 담습니다.
 	 *
 	 * @param logPk 로그 기본 키(고유 식별자)
 	 * @param idInfo 로그에 저장할 IdInfo 객체
 	 */
-	@Async
-	public void saveLogAsync(String logPk, IdInfo idInfo) {
-
-		try {
-			if (loggingDao.saveLogWithIdInfo(logPk, idInfo) == 0)
-				log.error("업뎃실패(신분정보)");
-		} catch (Exception e) {
-			log.error("로그갱신(신분정보) 실패: ({}): {}, 오류: {}", logPk, idInfo, e.getMessage(), e);
-		}
+	public void appendLog(String logPk, IdInfo idInfo) {
+		if (idInfo == null)
+			return;
 
+		merge(logPk, logRecord -> {
+			setIfNotNull(logRecord::setEmpId, idInfo.getUserId());
+			setIfNotNull(logRecord::setEmpBrdt, idInfo.getBirthDay());
+			setIfNotNull(logRecord::setEmpSsnBack, idInfo.getSubCode());
+			setIfNotNull(logRecord::setEmpNm, idInfo.getUserName());
+			setIfNotNull(logRecord::setIssuYmd, idInfo.getIssuedYmd());
+			setIfNotNull(logRecord::setEmpCi, idInfo.getCi());
+			setIfNotNull(logRecord::setEmpTelno, idInfo.getMobileNo());
+			setIfNotNull(logRecord::setEmpAddr, idInfo.getAddress());
+			setIfNotNull(logRecord::setEmpDaddr, idInfo.getDetailAddress());
+			setIfNotNull(logRecord::setEmpInstNm, idInfo.getIssuedInstNm());
+			// 사진은 로그 크기를 줄이기 위해 사진 해시만 기록
+			setIfNotNull(logRecord::setPhotoData, idInfo.getPhotoHash());
+			setIfNotNull(logRecord::setAppKey, idInfo.getAppKey());
+			setIfNotNull(logRecord::setEmpTelecom, idInfo.getTelecom());
+			setIfNotNull(logRecord::setEmpDeviceInfo, idInfo.getDeviceInfo());
+			setIfNotNull(logRecord::setEmpStts, idInfo.getStatus());
+			setIfNotNull(logRecord::setEmpIdStts, idInfo.getIdStatus());
+		});
 	}
 	
 	/**
-	 * 비동기적으로 오류 정보를 포함한 로그를 저장하는 메서드.
+	 * 오류 정보를 로그에 누적하는 메서드.
 	 *
-	 * 이 메서드는 주어진 로그 기본 키와 오류 코드, 오류 메시지를 사용하여 비동기적으로 로그를 저장합니다.
-	 * 로그 저장이 실패한 경우 오류를 기록합니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 오류 코드와 오류 메시지를 담습니다.
 	 *
 	 * @param logPk 로그 기본 키(고유 식별자)
 	 * @param errorCode 저장할 오류 코드
 	 * @param errorMsg 저장할 오류 메시지
 	 */
-	@Async
-	public void saveLogAsync(String logPk, ErrorCode errorCode, String errorMsg) {
-		try {
-			if (loggingDao.saveLogWithError(logPk, errorCode.name(), errorMsg) == 0)
-				log.error("업뎃실패(파라미터)");
-		} catch (Exception e) {
-			log.error("로그생성(파라미터 에러) 실패({}) : {}, 오류: {}", logPk, errorCode, e.getMessage(), e);
-		}
-
+	public void appendLog(String logPk, ErrorCode errorCode, String errorMsg) {
+		merge(logPk, logRecord -> {
+			setIfNotNull(logRecord::setResCd, errorCode == null ? null : errorCode.name());
+			setIfNotNull(logRecord::setResMsg, errorMsg);
+		});
 	}
 	
 	/**
-	 * 비동기적으로 요청 정보(RequestInfo)를 포함한 로그를 저장하는 메서드.
+	 * 요청 정보(RequestInfo)를 로그에 누적하는 메서드.
 	 *
-	 * 이 메서드는 주어진 로그 기본 키와 RequestInfo 객체를 사용하여 비동기적으로 로그를 저장합니다.
-	 * 로그 저장이 실패한 경우 오류를 기록합니다. 로그 저장 전에 8밀리초 동안 대기합니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 RequestInfo 객체의 정보를 담습니다.
 	 *
 	 * @param logPk 로그 기본 키(고유 식별자)
 	 * @param requestInfo 로그에 저장할 RequestInfo 객체
 	 */
-	@Async
-	public void saveLogAsync(String logPk, RequestInfo requestInfo) {
-		try {
-			Thread.sleep(8);
-			if (loggingDao.saveLogWithRequestInfo(logPk, requestInfo) == 0)
-				log.error("업뎃실패(요청정보)");
-		} catch (Exception e) {
-			log.error("로그갱신(request정보) 실패[{}] : {} 오류: {}", logPk, requestInfo, e.getMessage(), e);
-		}
+	public void appendLog(String logPk, RequestInfo requestInfo) {
+		if (requestInfo == null)
+			return;
 
+		merge(logPk, logRecord -> {
+			setIfNotNull(logRecord::setReqMethod, requestInfo.getReqMethod());
+			setIfNotNull(logRecord::setReqUrl, requestInfo.getReqUrl());
+			setIfNotNull(logRecord::setQueryString, requestInfo.getQueryString());
+			setIfNotNull(logRecord::setReqIp, requestInfo.getReqIp());
+			setIfNotNull(logRecord::setReqHeader, requestInfo.getReqHeader());
+			setIfNotNull(logRecord::setJsonReqBody, requestInfo.getJsonReqBody());
+		});
 	}
 
 	/**
-	 * 비동기적으로 ReqVO 객체를 포함한 로그를 저장하는 메서드.
+	 * ReqVO 객체를 로그에 누적하는 메서드.
 	 *
-	 * 이 메서드는 주어진 로그 기본 키와 ReqVO 객체를 사용하여 비동기적으로 로그를 저장합니다.
-	 * 로그 저장이 실패한 경우 오류를 기록합니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 ReqVO 객체의 정보를 담습니다.
+	 * 복호화 전, 후의 ReqVO가 차례로 저장되며 나중에 저장된 값이 남습니다.
 	 *
 	 * @param logPk 로그 기본 키(고유 식별자)
 	 * @param reqVO 로그에 저장할 ReqVO 객체
 	 */
-	@Async
-	public void saveLogAsync(String logPk, ReqVO reqVO) {
-		try {
-			if (loggingDao.saveLogWithReqVO(logPk, reqVO) == 0)
-				log.error("생성실패(reqVO)");
-		} catch (Exception e) {
-			log.error("로그생성 실패: logPk = {}, reqVO = {}, 오류: {}", logPk, reqVO, e.getMessage(), e);
-		}
+	public void appendLog(String logPk, ReqVO reqVO) {
+		if (reqVO == null)
+			return;
 
+		merge(logPk, logRecord -> {
+			setIfNotNull(logRecord::setInstToken, reqVO.getAgencyToken());
+			setIfNotNull(logRecord::setAppToken, reqVO.getApplicationToken());
+			setIfNotNull(logRecord::setEmpBrdt, reqVO.getBirthDay());
+			setIfNotNull(logRecord::setEmpSsnBack, reqVO.getSubCode());
+			setIfNotNull(logRecord::setEmpNm, reqVO.getUserName());
+			setIfNotNull(logRecord::setIssuYmd, reqVO.getIssuedYmd());
+			setIfNotNull(logRecord::setEncKey, reqVO.getEncKey());
+			setIfNotNull(logRecord::setEmpCi, reqVO.getCi());
+			setIfNotNull(logRecord::setAppKey, reqVO.getAppKey());
+			setIfNotNull(logRecord::setEmpTelno, reqVO.getMobileNo());
+			setIfNotNull(logRecord::setEmpDeviceInfo, reqVO.getDeviceInfo());
+			setIfNotNull(logRecord::setEmpTelecom, reqVO.getTelecom());
+			setIfNotNull(logRecord::setQrCd, reqVO.getQrCd());
+			setIfNotNull(logRecord::setInqBgngYmd, reqVO.getStDt());
+			setIfNotNull(logRecord::setInqEndYmd, reqVO.getEndDt());
+			logRecord.setBgngIndex(reqVO.getCurListIndex());
+			logRecord.setReqListCnt(reqVO.getReqListCnt());
+			setIfNotNull(logRecord::setQrSort, reqVO.getOrder());
+			setIfNotNull(logRecord::setQrUseNy, reqVO.getStatus());
+			setIfNotNull(logRecord::setQrRange, reqVO.getRange());
+		});
 	}
 	
 	/**
-	 * 비동기적으로 QR 코드를 포함한 로그를 저장하는 메서드.
+	 * QR 코드를 로그에 누적하는 메서드.
 	 *
-	 * 이 메서드는 주어진 로그 기본 키와 QR 코드를 사용하여 비동기적으로 로그를 저장합니다.
-	 * 로그 저장이 실패한 경우 오류를 기록합니다.
+	 * 이 메서드는 주어진 로그 기본 키에 해당하는 누적 로그에 QR 코드를 담습니다.
 	 *
 	 * @param logPk 로그 기본 키(고유 식별자)
 	 * @param qrCode 로그에 저장할 QR 코드 문자열
 	 */
-	@Async
-	public void saveLogAsync(String logPk, String qrCode) {
+	public void appendLog(String logPk, String qrCode) {
+		merge(logPk, logRecord -> setIfNotNull(logRecord::setQrCd, qrCode));
+	}
+
+	/**
+	 * 요청에서 생성된 모든 누적 로그를 저장 대기열로 넘기는 메서드.
+	 *
+	 * RequestFilter에서 요청 처리가 끝난 뒤 호출되며, 요청 하나의 로그는 한 행으로 한 번만 저장됩니다.
+	 *
+	 * @param request 처리가 끝난 요청
+	 */
+	public void flushRequestLogs(ServletRequest request) {
+
+		Object logPks = request.getAttribute(LOG_PK_ATTRIBUTE);
+		if (!(logPks instanceof List<?> logPkList))
+			return;
+
+		for (Object logPk : logPkList)
+			flush((String) logPk);
+
+		request.removeAttribute(LOG_PK_ATTRIBUTE);
+	}
+
+	/**
+	 * logPk에 해당하는 누적 로그를 저장 대기열로 넘기는 메서드.
+	 *
+	 * @param logPk 로그 기본 키(고유 식별자)
+	 */
+	public void flush(String logPk) {
+
+		if (logPk == null)
+			return;
+
+		LogRecord logRecord = pendingLogs.remove(logPk);
+		if (logRecord == null)
+			return;
+
+		// 이후 들어오는 항목은 새 누적 로그에 담기도록 닫음
+		synchronized (logRecord) {
+			logRecord.setClosed(true);
+		}
+		logWriter.enqueue(logRecord);
+	}
+
+	/**
+	 * 요청 범위 밖에서 생성되었거나 요청 종료 후 추가된 누적 로그를 주기적으로 저장하는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${log.pending.max.age.ms}")
+	public void flushExpiredLogs() {
+
+		long expiredBefore = System.currentTimeMillis() - pendingMaxAgeMs;
+		for (LogRecord logRecord : new ArrayList<>(pendingLogs.values())) {
+			if (logRecord.getCreatedMillis() <= expiredBefore)
+				flush(logRecord.getLogPk());
+		}
+	}
+
+	/**
+	 * 애플리케이션 종료 시 남은 누적 로그를 모두 저장 대기열로 넘기는 메서드.
+	 */
+	@PreDestroy
+	public void flushAll() {
+		for (String logPk : new ArrayList<>(pendingLogs.keySet()))
+			flush(logPk);
+	}
+
+	/**
+	 * logPk에 해당하는 누적 로그에 항목을 담는 메서드.
+	 *
+	 * 누적 로그가 이미 저장 대기열로 넘어간 경우, 새 누적 로그를 만들어 담습니다. (저장 시 기존 행에 병합)
+	 *
+	 * @param logPk 로그 기본 키(고유 식별자)
+	 * @param fragment 누적 로그에 값을 담는 함수
+	 */
+	private void merge(String logPk, Consumer<LogRecord> fragment) {
+
+		if (logPk == null)
+			return;
+
 		try {
-			if (loggingDao.saveLogWithQRCode(logPk, qrCode) == 0)
-				log.error("업뎃실패(qr코드)");
+			while (true) {
+				LogRecord logRecord = pendingLogs.computeIfAbsent(logPk, LogRecord::new);
+				synchronized (logRecord) {
+					if (!logRecord.isClosed()) {
+						fragment.accept(logRecord);
+						return;
+					}
+				}
+				pendingLogs.remove(logPk, logRecord);
+			}
 		} catch (Exception e) {
-			log.error("로그생성 실패: logPk = {}, reqVO = {}, 오류: {}", logPk, qrCode, e.getMessage(), e);
+			log.error("로그 누적 실패 ({}), 오류: {}", logPk, e.getMessage(), e);
+		}
+	}
+
+	// 현재 요청의 attribute에 logPk 등록 (요청 범위가 아니면 주기적 저장에 맡김)
+	@SuppressWarnings("unchecked")
+	private void registerToCurrentRequest(String logPk) {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null)
+			return;
+
+		List<String> logPks = (List<String>) attributes.getAttribute(LOG_PK_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (logPks == null) {
+			logPks = new ArrayList<>(1);
+			attributes.setAttribute(LOG_PK_ATTRIBUTE, logPks, RequestAttributes.SCOPE_REQUEST);
 		}
+		logPks.add(logPk);
+	}
+
+	// null이 아닌 값만 누적 로그에 반영
+	private static <T> void setIfNotNull(Consumer<T> setter, T value) {
+		if (value != null)
+			setter.accept(value);
 	}
 
 }
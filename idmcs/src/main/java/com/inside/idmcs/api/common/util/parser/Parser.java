@@ -1,11 +1,14 @@
 package com.inside.idmcs.api.common.util.parser;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -28,6 +31,9 @@ import lombok.extern.slf4j.Slf4j;
 public class Parser {
 	
 	private static final ObjectMapper objectMapper = new ObjectMapper();
+	
+	// QR 이력 커서 내용 형식 (검증시각 yyyyMMddHHmmss + 마이크로초 6자리 : 이력 번호)
+	private static final Pattern HISTORY_CURSOR = Pattern.compile("\\d{20}:\\d{1,19}");
 
 	/**
 	 * 객체를 JSON 형식의 문자열로 변환하는 메서드.
@@ -201,6 +207,7 @@ public class Parser {
 				reqVO.setDeviceInfo(obj.getDeviceInfo());
 				reqVO.setTelecom(obj.getTelecom());
 				reqVO.setQrCd(obj.getQrCd());
+				reqVO.setQrType(obj.getQrType());
 				reqVO.setStDt(obj.getStDt());
 				reqVO.setEndDt(obj.getEndDt());
 				reqVO.setCurListIndex(obj.getCurListIndex());
@@ -208,6 +215,7 @@ public class Parser {
 				reqVO.setOrder(obj.getOrder());
 				reqVO.setStatus(obj.getStatus());
 				reqVO.setRange(obj.getRange());
+				reqVO.setCursor(obj.getCursor());
 			}
 
 			return reqVO;
@@ -335,6 +343,53 @@ public class Parser {
 		return new PageInfo(reqListCnt, historyTotalCount, hasNext, offset);
 	}
 	
+	/**
+	 * 커서(keyset) 방식의 페이지네이션 정보를 생성하여 반환하는 메서드.
+	 *
+	 * 이전 응답의 nextCursor를 해석하여 마지막으로 조회한 이력의 검증시각과 이력 번호를 PageInfo에 담습니다.
+	 * 오프셋은 사용하지 않으며, 다음 페이지 존재 여부는 조회 후 결정합니다.
+	 *
+	 * @param cursor 이전 응답의 nextCursor
+	 * @param reqListCnt 요청한 목록의 개수 (한 페이지당 표시할 항목 수)
+	 * @param historyTotalCount 전체 히스토리 개수
+	 * @return 생성된 PageInfo 객체
+	 * @throws CustomException 커서 형식이 올바르지 않은 경우 F103 예외를 발생시킴
+	 */
+	public PageInfo createCursorPageInfo(String cursor, int reqListCnt, int historyTotalCount) throws CustomException {
+		
+		String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("페이지 커서"));
+		}
+		if (!HISTORY_CURSOR.matcher(decoded).matches())
+			throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("페이지 커서"));
+		
+		int separator = decoded.indexOf(':');
+		PageInfo pageInfo = new PageInfo(reqListCnt, historyTotalCount, "N", 0);
+		pageInfo.setCursorDt(decoded.substring(0, separator));
+		try {
+			pageInfo.setCursorHistNo(Long.parseLong(decoded.substring(separator + 1)));
+		} catch (NumberFormatException e) {
+			throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("페이지 커서"));
+		}
+		
+		return pageInfo;
+	}
+	
+	/**
+	 * 마지막으로 조회한 이력의 검증시각과 이력 번호로 다음 페이지 커서를 생성하는 메서드.
+	 *
+	 * @param cursorDt 검증시각 (yyyyMMddHHmmss + 마이크로초 6자리)
+	 * @param qrHistNo 이력 번호
+	 * @return Base64(URL-safe)로 인코딩된 다음 페이지 커서
+	 */
+	public String createHistoryCursor(String cursorDt, long qrHistNo) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((cursorDt + ":" + qrHistNo).getBytes(StandardCharsets.UTF_8));
+	}
+	
 	/**
 	 * 주어진 CI 값을 사용하여 요청 본문(request body)으로 사용할 맵 객체를 생성하는 메서드.
 	 *
@@ -0,0 +1,141 @@
+package com.inside.idmcs.api.common.util.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inside.idmcs.api.common.util.partition.dao.PartitionDao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * qr_history, log 월 파티션을 관리하는 컴포넌트.
+ *
+ * 파티션 테이블 전환(resources/db/partition.sql) 후 partition.maintenance.enabled=true로 사용합니다.
+ * 주기적으로 이번 달부터 partition.premake.months 개월 뒤까지의 파티션을 미리 만들고,
+ * partition.retention.months 개월보다 오래된 파티션은 분리(DETACH)하여 일반 테이블로 남깁니다. (보관/삭제는 운영에서 처리)
+ * 관리가 밀려 기본 파티션(*_default)에 이미 들어간 행은 새 파티션을 연결하기 전에 새 파티션으로 옮깁니다.
+ * (기본 파티션에 범위 내 행이 남아 있으면 파티션을 만들 수 없음)
+ * - qr_history : check_dt 월 범위 ('2024-01-01' ~ '2024-02-01')
+ * - log : ymd(로그 기본 키) 앞 6자리 월 범위 ('202401' ~ '202402')
+ */
+@Slf4j
+@Component
+public class PartitionMaintenance {
+
+	private static final String QR_HISTORY_TABLE = "qr_history";
+	private static final String LOG_TABLE = "log";
+
+	private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+	private static final Pattern PARTITION_NAME = Pattern.compile("_p(\\d{6})$");
+
+	private final PartitionDao partitionDao;
+	private final TransactionTemplate transactionTemplate;
+
+	// application.properties 파일에서 파티션 관리 설정을 읽어옴
+	@Value("${partition.maintenance.enabled}")
+	private boolean enabled;
+
+	@Value("${partition.premake.months}")
+	private int premakeMonths;
+
+	@Value("${partition.retention.months}")
+	private int retentionMonths;
+
+	public PartitionMaintenance(PartitionDao partitionDao, TransactionTemplate transactionTemplate) {
+		this.partitionDao = partitionDao;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * 파티션을 미리 생성하고 보관 기간이 지난 파티션을 분리하는 메서드.
+	 */
+	@Scheduled(cron = "${partition.maintenance.cron}")
+	public void maintain() {
+
+		if (!enabled)
+			return;
+
+		YearMonth currentMonth = YearMonth.now();
+		for (String table : List.of(QR_HISTORY_TABLE, LOG_TABLE)) {
+			try {
+				createFuturePartitions(table, currentMonth);
+				if (retentionMonths > 0)
+					detachExpiredPartitions(table, currentMonth.minusMonths(retentionMonths));
+			} catch (Exception e) {
+				log.error("파티션 관리 실패 ({}): {}", table, e.getMessage(), e);
+			}
+		}
+	}
+
+	// 이번 달부터 premakeMonths 개월 뒤까지 없는 파티션 생성
+	private void createFuturePartitions(String table, YearMonth currentMonth) {
+
+		Set<String> partitionNames = new HashSet<>(partitionDao.selectPartitionNames(table));
+		for (int i = 0; i <= premakeMonths; i++) {
+			YearMonth month = currentMonth.plusMonths(i);
+			String partitionName = table + "_p" + month.format(MONTH_FORMAT);
+			if (!partitionNames.contains(partitionName))
+				createPartition(table, partitionName, month);
+		}
+		log.info("파티션 생성 확인 ({}): {} ~ {}", table, currentMonth, currentMonth.plusMonths(premakeMonths));
+	}
+
+	// 테이블 생성, 기본 파티션의 범위 내 행 이동, 파티션 연결을 하나의 트랜잭션으로 수행
+	private void createPartition(String table, String partitionName, YearMonth month) {
+
+		String fromValue = lowerBound(table, month);
+		String toValue = lowerBound(table, month.plusMonths(1));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			partitionDao.createPartitionTable(table, partitionName);
+			int moved = partitionDao.moveDefaultRows(table, partitionName, partitionKey(table), fromValue, toValue);
+			partitionDao.attachPartition(table, partitionName, fromValue, toValue);
+			if (moved > 0)
+				log.warn("기본 파티션의 행을 새 파티션으로 이동 ({}): {}건", partitionName, moved);
+		});
+		log.info("파티션 생성 ({}): {}", table, partitionName);
+	}
+
+	// 보관 기준 월보다 이전 파티션 분리
+	private void detachExpiredPartitions(String table, YearMonth oldestKeptMonth) {
+
+		for (String partitionName : partitionDao.selectPartitionNames(table)) {
+			Matcher matcher = PARTITION_NAME.matcher(partitionName);
+			if (!partitionName.startsWith(table + "_p") || !matcher.find())
+				continue;
+
+			YearMonth month = YearMonth.parse(matcher.group(1), MONTH_FORMAT);
+			if (month.isBefore(oldestKeptMonth)) {
+				partitionDao.detachPartition(table, partitionName);
+				log.info("보관 기간이 지난 파티션 분리 ({}): {}", table, partitionName);
+			}
+		}
+	}
+
+	// 파티션 키 컬럼
+	private String partitionKey(String table) {
+		return QR_HISTORY_TABLE.equals(table) ? "check_dt" : "ymd";
+	}
+
+	// 파티션 범위 값 (qr_history : 날짜, log : yyyyMM 문자열)
+	private String lowerBound(String table, YearMonth month) {
+
+		if (QR_HISTORY_TABLE.equals(table)) {
+			LocalDate firstDay = month.atDay(1);
+			return firstDay.toString();
+		}
+		return month.format(MONTH_FORMAT);
+	}
+
+}
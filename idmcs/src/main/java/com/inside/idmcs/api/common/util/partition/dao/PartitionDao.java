@@ -0,0 +1,60 @@
+package com.inside.idmcs.api.common.util.partition.dao;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface PartitionDao {
+
+	/**
+	 * 파티션 테이블에 연결된 하위 파티션 이름 목록을 조회하는 메서드.
+	 *
+	 * @param parentTable 파티션 테이블 이름 (qr_history, log)
+	 * @return 하위 파티션 테이블 이름 목록
+	 */
+	List<String> selectPartitionNames(String parentTable);
+
+	/**
+	 * 파티션 테이블과 같은 구조의 일반 테이블을 생성하는 메서드. (파티션으로 연결하기 전 단계)
+	 *
+	 * 테이블 이름은 PartitionMaintenance에서 생성한 값만 사용합니다.
+	 *
+	 * @param parentTable 파티션 테이블 이름
+	 * @param partitionName 생성할 파티션 이름
+	 */
+	void createPartitionTable(String parentTable, String partitionName);
+
+	/**
+	 * 기본 파티션(*_default)에 들어간 범위 내 행을 새 파티션 테이블로 옮기는 메서드.
+	 *
+	 * 범위에 해당하는 행이 기본 파티션에 남아 있으면 파티션을 연결할 수 없으므로 연결 전에 옮깁니다.
+	 *
+	 * @param parentTable 파티션 테이블 이름
+	 * @param partitionName 행을 옮길 파티션 이름
+	 * @param partitionKey 파티션 키 컬럼 (qr_history : check_dt, log : ymd)
+	 * @param fromValue 범위 시작 값 (포함)
+	 * @param toValue 범위 종료 값 (미포함)
+	 * @return 옮긴 행 수
+	 */
+	int moveDefaultRows(String parentTable, String partitionName, String partitionKey, String fromValue, String toValue);
+
+	/**
+	 * 테이블을 월 범위 파티션으로 연결하는 메서드.
+	 *
+	 * @param parentTable 파티션 테이블 이름
+	 * @param partitionName 연결할 파티션 이름
+	 * @param fromValue 범위 시작 값 (포함)
+	 * @param toValue 범위 종료 값 (미포함)
+	 */
+	void attachPartition(String parentTable, String partitionName, String fromValue, String toValue);
+
+	/**
+	 * 파티션을 파티션 테이블에서 분리하는 메서드. (분리된 테이블은 일반 테이블로 남음)
+	 *
+	 * @param parentTable 파티션 테이블 이름
+	 * @param partitionName 분리할 파티션 이름
+	 */
+	void detachPartition(String parentTable, String partitionName);
+
+}
@@ -0,0 +1,199 @@
+package com.inside.idmcs.api.common.util.photo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사진 전달(해시, 사진 조회 토큰) 처리 컴포넌트.
+ *
+ * 신분 확인, QR 검증 응답에는 사진 대신 사진 해시(photoHash)와 사진 조회 토큰(photoToken)을 담고,
+ * 사진은 사진 조회 API(/api/idv/rrc/photo/{photoToken})로 따로 받습니다.
+ * 사진 조회 API는 사진 해시를 ETag로 사용하므로 이미 같은 사진을 가진 클라이언트는 If-None-Match로 전송을 생략할 수 있습니다.
+ * 토큰 형식: {유저아이디(Base64URL)}.{만료시간(epoch 밀리초)}.{HMAC-SHA256 서명(Base64URL)}
+ */
+@Slf4j
+@Component
+public class PhotoDelivery {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final String HASH_ALGORITHM = "SHA-256";
+	private static final int MIN_SECRET_BYTES = 32;
+
+	private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+	// application.properties 파일에서 사진 전달 설정을 읽어옴
+	@Value("${photo.inline.enabled}")
+	private boolean inlineEnabled;
+
+	@Value("${photo.token.ttl.sec}")
+	private long tokenTtlSec;
+
+	@Value("${photo.token.secret}")
+	private String tokenSecret;
+
+	// 사진 조회 토큰 서명 키가 QR 서명 키와 같은지 검사하기 위해 읽어옴
+	@Value("${qr.sign.secret}")
+	private String qrSignSecret;
+
+	// 스레드별 HMAC 인스턴스 (Mac은 스레드에 안전하지 않음)
+	private ThreadLocal<Mac> hmac;
+
+	/**
+	 * 토큰 서명 키를 검사하고 스레드별 HMAC 인스턴스를 준비하는 메서드.
+	 *
+	 * @throws IllegalStateException 서명 키가 없거나 32바이트보다 짧은 경우, QR 서명 키와 같은 경우
+	 */
+	@PostConstruct
+	public void init() {
+
+		if (tokenSecret == null || tokenSecret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES)
+			throw new IllegalStateException("photo.token.secret(환경변수 PHOTO_TOKEN_SECRET)은 " + MIN_SECRET_BYTES
+					+ "바이트 이상이어야 합니다.");
+
+		// 한 키가 노출되어도 다른 서명을 위조할 수 없도록 QR 서명 키와 다른 키를 사용
+		if (tokenSecret.equals(qrSignSecret))
+			throw new IllegalStateException("photo.token.secret은 qr.sign.secret과 다른 값이어야 합니다.");
+
+		SecretKeySpec keySpec = new SecretKeySpec(tokenSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+		hmac = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+				mac.init(keySpec);
+				return mac;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	/**
+	 * 응답에 사진을 그대로 담을지 여부를 반환하는 메서드. (photo.inline.enabled, 기존 클라이언트 호환용)
+	 *
+	 * @return 사진을 응답에 담으면 true
+	 */
+	public boolean isInlineEnabled() {
+		return inlineEnabled;
+	}
+
+	/**
+	 * 사진 데이터의 해시(SHA-256, Base64URL)를 구하는 메서드.
+	 *
+	 * @param photo 사진 데이터 (이미지 바이너리)
+	 * @return 사진 해시 (사진이 없으면 null)
+	 */
+	public String hash(byte[] photo) {
+
+		if (photo == null)
+			return null;
+
+		try {
+			byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(photo);
+			return BASE64_URL_ENCODER.encodeToString(digest);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 직원 사진 조회 토큰을 생성하는 메서드.
+	 *
+	 * @param userId 직원 아이디
+	 * @return 서명된 사진 조회 토큰
+	 */
+	public String createToken(String userId) {
+
+		long expiresMillis = System.currentTimeMillis() + tokenTtlSec * 1000;
+		String body = BASE64_URL_ENCODER.encodeToString(userId.getBytes(StandardCharsets.UTF_8)) + "." + expiresMillis;
+
+		return body + "." + BASE64_URL_ENCODER.encodeToString(sign(body));
+	}
+
+	/**
+	 * 사진 조회 토큰의 서명과 만료시간을 검사하고 직원 아이디를 반환하는 메서드.
+	 *
+	 * @param token 사진 조회 토큰
+	 * @return 직원 아이디
+	 * @throws CustomException 토큰 형식, 서명이 올바르지 않거나 만료된 경우 F210 예외를 발생시킴
+	 */
+	public String parseToken(String token) throws CustomException {
+
+		try {
+			String[] parts = token.split("\\.");
+			if (parts.length != 3)
+				throw new CustomException(ErrorCode.F210);
+
+			String body = parts[0] + "." + parts[1];
+			if (!MessageDigest.isEqual(sign(body), BASE64_URL_DECODER.decode(parts[2])))
+				throw new CustomException(ErrorCode.F210);
+
+			if (System.currentTimeMillis() > Long.parseLong(parts[1])) {
+				log.error("사진 조회 토큰 유효기간 만료, 만료시간: {}", parts[1]);
+				throw new CustomException(ErrorCode.F210);
+			}
+
+			return new String(BASE64_URL_DECODER.decode(parts[0]), StandardCharsets.UTF_8);
+
+		} catch (CustomException e) {
+			throw e;
+		} catch (Exception e) {
+			// Base64, 숫자 형식 오류
+			throw new CustomException(ErrorCode.F210);
+		}
+	}
+
+	/**
+	 * If-None-Match 헤더 값이 사진 해시(ETag)와 일치하는지 확인하는 메서드.
+	 *
+	 * 쉼표로 구분된 여러 ETag, 약한 ETag(W/), *를 처리합니다.
+	 *
+	 * @param ifNoneMatch If-None-Match 헤더 값
+	 * @param photoHash 현재 사진 해시
+	 * @return 일치하면 true
+	 */
+	public boolean matches(String ifNoneMatch, String photoHash) {
+
+		if (ifNoneMatch == null || photoHash == null)
+			return false;
+
+		for (String etag : ifNoneMatch.split(",")) {
+			etag = etag.trim();
+			if (etag.equals("*"))
+				return true;
+			if (etag.startsWith("W/"))
+				etag = etag.substring(2);
+			if (etag.equals(toETag(photoHash)))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 사진 해시를 ETag 형식(따옴표로 감싼 값)으로 변환하는 메서드.
+	 *
+	 * @param photoHash 사진 해시
+	 * @return ETag 값
+	 */
+	public String toETag(String photoHash) {
+		return "\"" + photoHash + "\"";
+	}
+
+	// 토큰 본문 HMAC 서명
+	private byte[] sign(String body) {
+		return hmac.get().doFinal(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
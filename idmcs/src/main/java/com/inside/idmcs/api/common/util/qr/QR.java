@@ -2,15 +2,18 @@ package com.inside.idmcs.api.common.util.qr;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.text.SimpleDateFormat;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.util.Base64;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import javax.imageio.ImageIO;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.google.zxing.BarcodeFormat;
@@ -26,16 +29,77 @@ import com.google.zxing.qrcode.QRCodeWriter;
 import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
 public class QR {
 	
+	// QR 코드 전달 형식 (이미지, 해석된 내용 문자열)
+	public static final String QR_TYPE_IMAGE = "IMAGE";
+	public static final String QR_TYPE_TEXT = "TEXT";
+	
+	// QR 이미지 형식 (png, svg)
+	public static final String QR_FORMAT_PNG = "png";
+	public static final String QR_FORMAT_SVG = "svg";
+	
+	// SVG QR 코드 해석 시 모듈 하나의 픽셀 크기
+	private static final int SVG_DECODE_SCALE = 4;
+	
+	// QRCodeWriter는 상태가 없으므로 재사용
+	private static final QRCodeWriter QR_CODE_WRITER = new QRCodeWriter();
+	
+	// 서명된 QR 내용 형식 버전 (v1.유저아이디.발행시간.nonce.서명)
+	private static final String PAYLOAD_VERSION = "v1";
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final int NONCE_BYTES = 9;
+	private static final int MIN_SECRET_BYTES = 32;
+	
+	private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+	
+	// application.properties 파일에서 qr.image.format 값을 읽어옴
+	@Value("${qr.image.format}")
+	private String imageFormat;
+	
+	// application.properties 파일에서 qr.sign.secret 값을 읽어옴
+	@Value("${qr.sign.secret}")
+	private String signSecret;
+	
+	// 스레드별 HMAC 인스턴스 (Mac은 스레드에 안전하지 않음)
+	private ThreadLocal<Mac> hmac;
+	
+	/**
+	 * QR 서명 키를 검사하고 스레드별 HMAC 인스턴스를 준비하는 메서드.
+	 *
+	 * 서명 키는 기본값이 없으므로 환경변수 QR_SIGN_SECRET(qr.sign.secret)를 지정하지 않으면 기동에 실패합니다.
+	 *
+	 * @throws IllegalStateException 서명 키가 없거나 32바이트보다 짧은 경우
+	 */
+	@PostConstruct
+	public void init() {
+		
+		if (signSecret == null || signSecret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES)
+			throw new IllegalStateException("qr.sign.secret(환경변수 QR_SIGN_SECRET)은 " + MIN_SECRET_BYTES + "바이트 이상이어야 합니다.");
+		
+		SecretKeySpec keySpec = new SecretKeySpec(signSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+		hmac = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+				mac.init(keySpec);
+				return mac;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+	
 	/**
-	 * 주어진 사용자 ID와 현재 시간을 사용하여 QR 코드를 생성하는 메서드.
+	 * 주어진 사용자 ID로 서명된 QR 코드를 생성하는 메서드.
 	 *
-	 * 이 메서드는 사용자 ID와 현재 시간을 조합한 문자열로 QR 코드를 생성합니다.
+	 * 이 메서드는 사용자 ID, 발행시간(epoch 밀리초), nonce를 조합하고 HMAC으로 서명한 문자열로 QR 코드를 생성합니다.
 	 * QR 코드 생성 중 오류가 발생하면 F401 오류 코드와 함께 CustomException을 던집니다.
 	 *
 	 * @param userId QR 코드에 포함할 사용자 ID
@@ -46,11 +110,8 @@ public class QR {
 	public String createQRCodeWithId(String userId, int size) throws CustomException {
 		
 		try {
-			//현재 시간(시분초밀리초) 가져오기
-			String now = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-			
-			//qrContent (유저아이디_현재시간)
-			String qrContent = userId + "_" + now;
+			//qrContent (서명된 QR 내용)
+			String qrContent = createQRContent(userId, System.currentTimeMillis());
 			
 			//qrcode생성 및 리턴
 			return createQRCode(qrContent, size);
@@ -61,12 +122,34 @@ public class QR {
 		}
 	}
 	
+	/**
+	 * 서명된 QR 코드 내용 문자열을 생성하는 메서드.
+	 *
+	 * 형식: v1.{유저아이디(Base64URL)}.{발행시간(epoch 밀리초)}.{nonce(Base64URL)}.{HMAC-SHA256 서명(Base64URL)}
+	 * 서명은 마지막 "." 앞까지의 문자열 전체를 대상으로 합니다.
+	 *
+	 * @param userId 사용자 ID
+	 * @param issuedMillis 발행시간 (epoch 밀리초)
+	 * @return 서명된 QR 코드 내용 문자열
+	 */
+	public String createQRContent(String userId, long issuedMillis) {
+		
+		byte[] nonce = new byte[NONCE_BYTES];
+		SECURE_RANDOM.nextBytes(nonce);
+		
+		String body = PAYLOAD_VERSION + "." + BASE64_URL_ENCODER.encodeToString(userId.getBytes(StandardCharsets.UTF_8))
+				+ "." + issuedMillis + "." + BASE64_URL_ENCODER.encodeToString(nonce);
+		
+		return body + "." + BASE64_URL_ENCODER.encodeToString(sign(body));
+	}
+	
 	/**
 	 * QR 코드 내용을 사용하여 지정된 크기의 QR 코드를 생성하고, 
 	 * Base64로 인코딩된 문자열로 반환하는 메서드.
 	 *
 	 * 이 메서드는 주어진 QR 코드 내용을 바탕으로 QR 코드를 생성한 후, 
-	 * 이미지를 Base64 문자열로 변환하여 반환합니다.
+	 * qr.image.format 설정에 따라 PNG(기본값) 또는 SVG 이미지를 Base64 문자열로 변환하여 반환합니다.
+	 * PNG는 BufferedImage, ImageIO를 거치지 않고 BitMatrix에서 바로 인코딩합니다.
 	 *
 	 * @param qrContent QR 코드에 포함할 내용
 	 * @param size QR 코드의 가로와 세로 크기 (픽셀 단위)
@@ -75,39 +158,51 @@ public class QR {
 	 */
 	public String createQRCode(String qrContent, int size) throws Exception {
 		
-		QRCodeWriter qrCodeWriter = new QRCodeWriter();
+		if (QR_FORMAT_SVG.equals(imageFormat)) {
+			// 모듈 단위 QR 코드 생성 후 SVG로 변환
+			BitMatrix moduleMatrix = QR_CODE_WRITER.encode(qrContent, BarcodeFormat.QR_CODE, 0, 0);
+			return Base64.getEncoder().encodeToString(QRImageEncoder.toSvg(moduleMatrix, size));
+		}
 
 		// QR 코드 생성
-		BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, size, size);
-
-		// BitMatrix를 BufferedImage로 변환
-		BufferedImage qrImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-
-		// BufferedImage를 ByteArrayOutputStream으로 변환
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-	        ImageIO.write(qrImage, "png", byteArrayOutputStream);
+		BitMatrix bitMatrix = QR_CODE_WRITER.encode(qrContent, BarcodeFormat.QR_CODE, size, size);
 
-	        // ByteArrayOutputStream을 Base64로 인코딩
-	        byte[] imageBytes = byteArrayOutputStream.toByteArray();
-	        String qrCodeStr = Base64.getEncoder().encodeToString(imageBytes);
-
-	        // 결과로 Base64 인코딩된 QR 코드 이미지 String 반환
-	        return qrCodeStr;
-	    }
+		// BitMatrix를 PNG로 바로 인코딩하여 Base64 문자열로 반환
+		return Base64.getEncoder().encodeToString(QRImageEncoder.toPng(bitMatrix));
 		
 	}
 	
+	/**
+	 * 전달 형식에 따라 QR 코드를 해석하여 QR 코드 내용을 맵 형태로 반환하는 메서드.
+	 *
+	 * TEXT 형식은 스캐너가 이미 해석한 QR 내용 문자열이므로 이미지 해석 없이 내용만 검증하고,
+	 * 그 외(IMAGE 또는 null)는 Base64 이미지(PNG, qr.image.format=svg로 발급한 SVG)를 해석합니다.
+	 *
+	 * @param qrCd QR 코드 (Base64 이미지 문자열 또는 QR 내용 문자열)
+	 * @param qrType QR 코드 전달 형식 (IMAGE, TEXT)
+	 * @return QR 코드에서 추출한 사용자 ID, 발행시간, nonce를 포함하는 맵 객체
+	 * @throws Exception QR 코드 처리 중 오류가 발생할 경우 F402 또는 F499 예외를 발생시킴
+	 */
+	public Map<String, String> decodeQRcode(String qrCd, String qrType) throws Exception {
+		
+		if (QR_TYPE_TEXT.equals(qrType))
+			return parseQRContent(qrCd);
+		
+		return decodeQRcode(qrCd);
+	}
+	
 	/**
 	 * Base64로 인코딩된 QR 코드 이미지를 디코딩하여 QR 코드 내용을 추출하고, 
 	 * 이를 맵 형태로 반환하는 메서드.
 	 *
-	 * 이 메서드는 QR 코드 이미지에서 사용자 ID와 발행 타임스탬프를 추출하여 
-	 * 키-값 쌍으로 구성된 맵으로 반환합니다. QR 코드 처리 중 오류가 발생하면 
-	 * F499 오류 코드와 함께 CustomException을 던집니다.
+	 * 이 메서드는 QR 코드 이미지에서 서명된 내용을 읽어 검증한 뒤 
+	 * (SVG는 ImageIO로 읽을 수 없으므로 createQRCode가 만든 SVG 경로를 모듈로 되돌려 해석) 
+	 * 키-값 쌍으로 구성된 맵으로 반환합니다. 서명이 올바르지 않으면 F402, 
+	 * 이미지 처리 중 오류가 발생하면 F499 오류 코드와 함께 CustomException을 던집니다.
 	 *
 	 * @param qrCodeStr Base64로 인코딩된 QR 코드 이미지 문자열
-	 * @return QR 코드에서 추출한 사용자 ID와 발행 타임스탬프를 포함하는 맵 객체
-	 * @throws Exception QR 코드 처리 중 오류가 발생할 경우 F499 예외를 발생시킴
+	 * @return QR 코드에서 추출한 사용자 ID, 발행시간, nonce를 포함하는 맵 객체
+	 * @throws Exception QR 코드 내용이 올바르지 않으면 F402, 처리 중 오류가 발생할 경우 F499 예외를 발생시킴
 	 */
 	public Map<String, String> decodeQRcode(String qrCodeStr) throws Exception {
 		
@@ -116,7 +211,9 @@ public class QR {
 
 	    // 바이트 배열을 BufferedImage로 변환
 	    try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(imageBytes)) {
-	        BufferedImage qrImage = ImageIO.read(byteArrayInputStream);
+	        BufferedImage qrImage = QRImageEncoder.isSvg(imageBytes)
+	        		? MatrixToImageWriter.toBufferedImage(QRImageEncoder.fromSvg(imageBytes, SVG_DECODE_SCALE))
+	        		: ImageIO.read(byteArrayInputStream);
 
 	        // QR 코드 이미지로부터 BitMatrix를 추출하여 QR 코드를 읽기
 	        LuminanceSource source = new BufferedImageLuminanceSource(qrImage);
@@ -126,20 +223,58 @@ public class QR {
 	        QRCodeReader qrCodeReader = new QRCodeReader();
 	        Result result = qrCodeReader.decode(bitmap);
 	     
-	        // QR 코드에서 추출한 내용을 반환
-	        String qrContent = result.getText();
-	        
-	        String[] arrStr = qrContent.split("_");
-	        
-	        Map<String, String> map = new HashMap<>();
-	        map.put("userId", arrStr[0]);
-	        map.put("issuedTimestamp", arrStr[1]);
-	        
-	        return map;
+	        // QR 코드에서 추출한 내용을 해석하여 반환
+	        return parseQRContent(result.getText());
 	        
+	    } catch (CustomException e) {
+	    	throw e;
 	    } catch (Exception e) {
 	        throw new CustomException(ErrorCode.F499);
 	    }
 	}
+	
+	/**
+	 * 서명된 QR 코드 내용 문자열을 검증하고 해석하여 맵 형태로 반환하는 메서드.
+	 *
+	 * 버전, 항목 수, HMAC 서명을 검사하며, 서명이 없는 이전 형식(유저아이디_발행시간)이나
+	 * 위조된 내용은 F402 오류 코드와 함께 CustomException을 던집니다.
+	 *
+	 * @param qrContent QR 코드 내용 문자열
+	 * @return 사용자 ID(userId), 발행시간(issuedMillis), nonce를 포함하는 맵 객체
+	 * @throws CustomException QR 코드 내용 형식이나 서명이 올바르지 않은 경우 F402 예외를 발생시킴
+	 */
+	public Map<String, String> parseQRContent(String qrContent) throws CustomException {
+		
+		if (qrContent == null || !qrContent.startsWith(PAYLOAD_VERSION + "."))
+			throw new CustomException(ErrorCode.F402);
+		
+		String[] parts = qrContent.split("\\.", -1);
+		if (parts.length != 5)
+			throw new CustomException(ErrorCode.F402);
+		
+		try {
+			// 서명 검증 (마지막 "." 앞까지가 서명 대상)
+			String body = qrContent.substring(0, qrContent.lastIndexOf('.'));
+			byte[] signature = BASE64_URL_DECODER.decode(parts[4]);
+			if (!MessageDigest.isEqual(sign(body), signature))
+				throw new CustomException(ErrorCode.F402);
+			
+			Map<String, String> map = new HashMap<>();
+			map.put("userId", new String(BASE64_URL_DECODER.decode(parts[1]), StandardCharsets.UTF_8));
+			map.put("issuedMillis", String.valueOf(Long.parseLong(parts[2])));
+			map.put("nonce", parts[3]);
+			
+			return map;
+			
+		} catch (IllegalArgumentException e) {
+			// Base64, 숫자 형식 오류
+			throw new CustomException(ErrorCode.F402);
+		}
+	}
+	
+	// 문자열을 HMAC-SHA256으로 서명
+	private byte[] sign(String body) {
+		return hmac.get().doFinal(body.getBytes(StandardCharsets.UTF_8));
+	}
 
 }
@@ -0,0 +1,207 @@
+package com.inside.idmcs.api.common.util.qr;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.model.vo.db.QRHistory;
+import com.inside.idmcs.api.qr.history.dao.QRHistoryDao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * QR 코드 검증 결과(qr_history)를 한 번에 기록하는 writer.
+ *
+ * 검증 결과(성공/실패, 사용자 아이디, 검증 시각)를 메모리에 모두 모은 뒤 한 행을 한 번만 insert 합니다.
+ * qr.history.write.mode 설정에 따라 기록 방식이 달라집니다.
+ * - sync : 요청 스레드에서 바로 insert
+ * - async : 크기가 제한된 큐에 쌓고 전용 writer 스레드가 JDBC 배치로 insert
+ * async 모드에서 큐가 가득 찬 경우의 처리는 qr.history.overflow.policy 설정을 따릅니다.
+ * - sync : 요청 스레드에서 바로 insert (이력 유실 없음)
+ * - drop : 이력을 버리고 경고 로그만 남김
+ */
+@Slf4j
+@Component
+public class QRHistoryWriter {
+
+	// 기록 방식
+	public enum WriteMode {
+		SYNC, ASYNC
+	}
+
+	// async 모드에서 큐가 가득 찼을 때의 처리 방식
+	public enum OverflowPolicy {
+		SYNC, DROP
+	}
+
+	// 검증 시각 형식 (mapper에서 to_timestamp(#{checkDt}, 'YYYYMMDDHH24MISSMS')로 변환)
+	private static final DateTimeFormatter CHECK_DT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+	private final QRHistoryDao qRHistoryDao;
+	private final SqlSessionFactory sqlSessionFactory;
+	private final WriteMode writeMode;
+	private final OverflowPolicy overflowPolicy;
+	private final BlockingQueue<QRHistory> queue;
+	private final ExecutorService writerExecutor;
+
+	@Value("${qr.history.batch.size}")
+	private int batchSize;
+
+	@Value("${qr.history.flush.interval.ms}")
+	private long flushIntervalMs;
+
+	private volatile boolean running = true;
+
+	// 기록 지표
+	private final LongAdder writtenCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+
+	public QRHistoryWriter(QRHistoryDao qRHistoryDao, SqlSessionFactory sqlSessionFactory,
+			@Value("${qr.history.write.mode}") String writeMode,
+			@Value("${qr.history.overflow.policy}") String overflowPolicy,
+			@Value("${qr.history.queue.capacity}") int queueCapacity) {
+		this.qRHistoryDao = qRHistoryDao;
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.writeMode = WriteMode.valueOf(writeMode.trim().toUpperCase(Locale.ROOT));
+		this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.writerExecutor = this.writeMode == WriteMode.ASYNC ? Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "qr-history-writer");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	/**
+	 * async 모드인 경우 전용 writer 스레드를 시작하는 메서드.
+	 */
+	@PostConstruct
+	public void start() {
+		if (writerExecutor != null)
+			writerExecutor.execute(this::runWriter);
+	}
+
+	/**
+	 * QR 코드 검증 결과를 기록하는 메서드.
+	 *
+	 * 검증 시각이 없으면 현재 시각으로 채운 뒤, 설정된 방식(sync, async)으로 한 번만 insert 합니다.
+	 *
+	 * @param qrHist 기록할 QRHistory 객체 (checkRes: S 또는 F)
+	 * @return sync 모드에서는 insert 된 행 수, async 모드에서 큐에 추가된 경우 1, 버려진 경우 0
+	 */
+	public int record(QRHistory qrHist) {
+
+		if (qrHist.getCheckDt() == null)
+			qrHist.setCheckDt(LocalDateTime.now().format(CHECK_DT_FORMAT));
+
+		if (writeMode == WriteMode.SYNC)
+			return writeOne(qrHist);
+
+		if (queue.offer(qrHist))
+			return 1;
+
+		// 큐 포화
+		if (overflowPolicy == OverflowPolicy.SYNC)
+			return writeOne(qrHist);
+
+		droppedCount.increment();
+		log.warn("QR 이력 큐 포화로 이력 버림 ({})", qrHist);
+		return 0;
+	}
+
+	/**
+	 * 애플리케이션 종료 시 writer 스레드가 남은 이력을 저장하고 끝나도록 하는 메서드.
+	 */
+	@PreDestroy
+	public void shutdown() {
+
+		running = false;
+		if (writerExecutor == null)
+			return;
+
+		writerExecutor.shutdown();
+		try {
+			if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS))
+				log.warn("QR 이력 writer 종료 대기 시간 초과 (남은 이력 {}건)", queue.size());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 주기적으로 QR 이력 기록 지표를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		log.info("qr history writer stats : mode={}, depth={}, written={}, dropped={}, failed={}", writeMode,
+				queue.size(), writtenCount.sum(), droppedCount.sum(), failedCount.sum());
+	}
+
+	// 한 건을 바로 insert
+	private int writeOne(QRHistory qrHist) {
+
+		int count = qRHistoryDao.insertQRHistory(qrHist);
+		writtenCount.add(count);
+		return count;
+	}
+
+	// writer 스레드 : 큐에서 이력을 꺼내 배치 저장
+	private void runWriter() {
+
+		List<QRHistory> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				QRHistory first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				log.error("QR 이력 writer 오류: {}", e.getMessage(), e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// 이력 목록을 BATCH 세션으로 한 번에 저장
+	private void write(List<QRHistory> batch) {
+
+		try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+			QRHistoryDao batchDao = session.getMapper(QRHistoryDao.class);
+			for (QRHistory qrHist : batch)
+				batchDao.insertQRHistory(qrHist);
+
+			session.flushStatements();
+			session.commit();
+			writtenCount.add(batch.size());
+		} catch (Exception e) {
+			failedCount.add(batch.size());
+			log.error("QR 이력 배치 저장 실패 ({}건): {}, 오류: {}", batch.size(), batch, e.getMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.inside.idmcs.api.common.util.qr;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.google.zxing.common.BitMatrix;
+
+/**
+ * QR 코드 BitMatrix를 이미지 바이트로 직접 변환하는 클래스.
+ *
+ * BufferedImage와 ImageIO를 거치지 않고 1비트 흑백 PNG를 바로 만들며,
+ * 행 버퍼와 Deflater는 스레드별로 재사용합니다. SVG 변환과, 검증을 위한 SVG 역변환도 제공합니다.
+ */
+final class QRImageEncoder {
+
+	private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+	// toSvg로 만든 SVG의 모듈 수(viewBox), 검은 모듈 경로, 한 행의 연속된 검은 모듈
+	private static final Pattern SVG_VIEW_BOX = Pattern.compile("viewBox=\"0 0 (\\d{1,3}) (\\d{1,3})\"");
+	private static final Pattern SVG_PATH = Pattern.compile("<path d=\"([^\"]*)\"");
+	private static final Pattern SVG_RUN = Pattern.compile("M(\\d{1,3}) (\\d{1,3})h(\\d{1,3})v1h-\\3z");
+
+	// QR 코드 최대 모듈 수 (버전 40 : 177 + 여백)
+	private static final int MAX_SVG_MODULES = 200;
+
+	// 스레드별 재사용 버퍼 (Deflater, 행 데이터, 압축 결과)
+	private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal
+			.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+	private static final ThreadLocal<byte[][]> BUFFERS = ThreadLocal.withInitial(() -> new byte[2][0]);
+
+	private QRImageEncoder() {
+	}
+
+	/**
+	 * BitMatrix를 1비트 흑백 PNG 바이트 배열로 변환하는 메서드.
+	 *
+	 * @param bitMatrix 변환할 QR 코드 BitMatrix (true: 검은 모듈)
+	 * @return PNG 이미지 바이트 배열
+	 */
+	static byte[] toPng(BitMatrix bitMatrix) {
+
+		int width = bitMatrix.getWidth();
+		int height = bitMatrix.getHeight();
+		int rowBytes = (width + 7) / 8;
+
+		// 필터 바이트(0) + 1비트 픽셀 행 (1: 흰색, 0: 검은색)
+		byte[][] buffers = BUFFERS.get();
+		int rawLength = (rowBytes + 1) * height;
+		if (buffers[0].length < rawLength)
+			buffers[0] = new byte[rawLength];
+		byte[] raw = buffers[0];
+
+		int offset = 0;
+		for (int y = 0; y < height; y++) {
+			raw[offset++] = 0;
+			for (int i = 0; i < rowBytes; i++) {
+				int packed = 0;
+				for (int bit = 0; bit < 8; bit++) {
+					int x = (i << 3) + bit;
+					if (x >= width || !bitMatrix.get(x, y))
+						packed |= 0x80 >>> bit;
+				}
+				raw[offset++] = (byte) packed;
+			}
+		}
+
+		// 행 데이터 압축 (IDAT)
+		Deflater deflater = DEFLATER.get();
+		deflater.reset();
+		deflater.setInput(raw, 0, rawLength);
+		deflater.finish();
+
+		if (buffers[1].length < rawLength + 64)
+			buffers[1] = new byte[rawLength + 64];
+		byte[] compressed = buffers[1];
+		int compressedLength = 0;
+		while (!deflater.finished()) {
+			if (compressedLength == compressed.length) {
+				byte[] grown = new byte[compressed.length * 2];
+				System.arraycopy(compressed, 0, grown, 0, compressedLength);
+				buffers[1] = compressed = grown;
+			}
+			compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(compressedLength + 64);
+		out.write(PNG_SIGNATURE, 0, PNG_SIGNATURE.length);
+
+		// IHDR : 너비, 높이, 비트 깊이 1, 흑백(0), 압축/필터/인터레이스 0
+		byte[] header = new byte[13];
+		writeInt(header, 0, width);
+		writeInt(header, 4, height);
+		header[8] = 1;
+		writeChunk(out, "IHDR", header, header.length);
+		writeChunk(out, "IDAT", compressed, compressedLength);
+		writeChunk(out, "IEND", new byte[0], 0);
+
+		return out.toByteArray();
+	}
+
+	/**
+	 * 모듈 단위 BitMatrix를 SVG 문서로 변환하는 메서드.
+	 *
+	 * 각 행의 연속된 검은 모듈을 하나의 사각형 경로로 묶어 출력합니다.
+	 *
+	 * @param moduleMatrix 모듈 단위 QR 코드 BitMatrix (여백 포함)
+	 * @param size 출력할 이미지 크기 (픽셀 단위)
+	 * @return SVG 문서 바이트 배열 (UTF-8)
+	 */
+	static byte[] toSvg(BitMatrix moduleMatrix, int size) {
+
+		int width = moduleMatrix.getWidth();
+		int height = moduleMatrix.getHeight();
+
+		StringBuilder svg = new StringBuilder(width * height);
+		svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size).append("\" height=\"")
+				.append(size).append("\" viewBox=\"0 0 ").append(width).append(' ').append(height)
+				.append("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path d=\"");
+
+		for (int y = 0; y < height; y++) {
+			int x = 0;
+			while (x < width) {
+				if (!moduleMatrix.get(x, y)) {
+					x++;
+					continue;
+				}
+				int start = x;
+				while (x < width && moduleMatrix.get(x, y))
+					x++;
+				svg.append('M').append(start).append(' ').append(y).append('h').append(x - start).append("v1h-")
+						.append(x - start).append('z');
+			}
+		}
+
+		svg.append("\" fill=\"#000\"/></svg>");
+		return svg.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 바이트 배열이 SVG 문서인지 확인하는 메서드.
+	 *
+	 * @param imageBytes 이미지 바이트 배열
+	 * @return SVG 문서이면 true
+	 */
+	static boolean isSvg(byte[] imageBytes) {
+
+		int i = 0;
+		while (i < imageBytes.length && Character.isWhitespace(imageBytes[i]))
+			i++;
+		return imageBytes.length - i >= 4 && imageBytes[i] == '<' && imageBytes[i + 1] == 's'
+				&& imageBytes[i + 2] == 'v' && imageBytes[i + 3] == 'g';
+	}
+
+	/**
+	 * toSvg로 만든 SVG 문서를 QR 코드 해석용 BitMatrix로 되돌리는 메서드.
+	 *
+	 * 각 모듈을 scale 픽셀 크기로 확대하며, toSvg 형식이 아닌 SVG는 해석하지 않습니다.
+	 *
+	 * @param svgBytes SVG 문서 바이트 배열 (UTF-8)
+	 * @param scale 모듈 하나의 픽셀 크기
+	 * @return 확대된 QR 코드 BitMatrix (true: 검은 모듈)
+	 * @throws IllegalArgumentException toSvg 형식이 아니거나 모듈 수가 범위를 벗어난 경우
+	 */
+	static BitMatrix fromSvg(byte[] svgBytes, int scale) {
+
+		String svg = new String(svgBytes, StandardCharsets.UTF_8);
+		Matcher viewBox = SVG_VIEW_BOX.matcher(svg);
+		Matcher path = SVG_PATH.matcher(svg);
+		if (!viewBox.find() || !path.find())
+			throw new IllegalArgumentException("QR 코드 SVG 형식이 아닙니다.");
+
+		int width = Integer.parseInt(viewBox.group(1));
+		int height = Integer.parseInt(viewBox.group(2));
+		if (width == 0 || height == 0 || width > MAX_SVG_MODULES || height > MAX_SVG_MODULES)
+			throw new IllegalArgumentException("QR 코드 SVG 크기가 올바르지 않습니다.");
+
+		BitMatrix bitMatrix = new BitMatrix(width * scale, height * scale);
+		String d = path.group(1);
+		Matcher run = SVG_RUN.matcher(d);
+		int end = 0;
+		while (run.find()) {
+			// 경로 사이에 다른 명령이 있으면 toSvg 형식이 아님
+			if (run.start() != end)
+				throw new IllegalArgumentException("QR 코드 SVG 경로가 올바르지 않습니다.");
+			end = run.end();
+
+			int x = Integer.parseInt(run.group(1));
+			int y = Integer.parseInt(run.group(2));
+			int length = Integer.parseInt(run.group(3));
+			if (length == 0 || x + length > width || y >= height)
+				throw new IllegalArgumentException("QR 코드 SVG 경로가 범위를 벗어났습니다.");
+			bitMatrix.setRegion(x * scale, y * scale, length * scale, scale);
+		}
+		if (end != d.length())
+			throw new IllegalArgumentException("QR 코드 SVG 경로가 올바르지 않습니다.");
+
+		return bitMatrix;
+	}
+
+	// PNG 청크 기록 (길이, 타입, 데이터, CRC)
+	private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data, int length) {
+
+		byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+		byte[] intBytes = new byte[4];
+
+		writeInt(intBytes, 0, length);
+		out.write(intBytes, 0, 4);
+		out.write(typeBytes, 0, 4);
+		out.write(data, 0, length);
+
+		CRC32 crc = new CRC32();
+		crc.update(typeBytes, 0, 4);
+		crc.update(data, 0, length);
+		writeInt(intBytes, 0, (int) crc.getValue());
+		out.write(intBytes, 0, 4);
+	}
+
+	private static void writeInt(byte[] target, int offset, int value) {
+		target[offset] = (byte) (value >>> 24);
+		target[offset + 1] = (byte) (value >>> 16);
+		target[offset + 2] = (byte) (value >>> 8);
+		target[offset + 3] = (byte) value;
+	}
+
+}
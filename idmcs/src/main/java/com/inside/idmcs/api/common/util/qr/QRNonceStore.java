@@ -0,0 +1,199 @@
+package com.inside.idmcs.api.common.util.qr;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 검증된 QR 코드 nonce를 유효기간 동안 기억하여 재사용(replay)을 막는 저장소.
+ *
+ * nonce는 해시값으로 잠금 단위(stripe)를 나누고, 각 stripe 안에서는 발행시간 기준 시간 구간(bucket)의
+ * 링 버퍼에 저장합니다. 같은 QR 코드는 항상 같은 stripe, 같은 bucket에 들어가므로 조회와 등록은 O(1)이며,
+ * 유효기간(qr.timeout.sec + qr.timeout.margin.sec)이 지난 bucket은 재사용될 때 비워집니다.
+ * 서버 한 대의 메모리에만 보관하므로 여러 서버 간 재사용은 막지 못합니다.
+ */
+@Slf4j
+@Component
+public class QRNonceStore {
+
+	// 잠금 단위 개수 (2의 거듭제곱)
+	private static final int STRIPE_COUNT = 64;
+
+	// 유효기간을 나누는 bucket 개수
+	private static final int BUCKETS_PER_WINDOW = 8;
+
+	private final long windowMillis;
+	private final long bucketMillis;
+	private final Stripe[] stripes;
+
+	private final LongAdder acceptedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+
+	public QRNonceStore(@Value("${qr.timeout.sec}") int timeoutSec,
+			@Value("${qr.timeout.margin.sec}") int marginSec) {
+		this.windowMillis = (timeoutSec + marginSec) * 1000L;
+		this.bucketMillis = Math.max(1, (windowMillis + BUCKETS_PER_WINDOW - 1) / BUCKETS_PER_WINDOW);
+
+		// 유효기간 전체 + 경계 bucket 2개가 겹치지 않도록 링 크기 결정
+		int ringSize = (int) ((windowMillis + bucketMillis - 1) / bucketMillis) + 2;
+		this.stripes = new Stripe[STRIPE_COUNT];
+		for (int i = 0; i < STRIPE_COUNT; i++)
+			stripes[i] = new Stripe(ringSize);
+	}
+
+	/**
+	 * QR 코드 nonce를 처음 사용하는 경우 등록하는 메서드.
+	 *
+	 * @param nonce QR 코드 nonce
+	 * @param issuedMillis QR 코드 발행시간 (epoch 밀리초)
+	 * @return 처음 사용하는 nonce면 true, 이미 사용되었거나 유효기간이 지난 경우 false
+	 */
+	public boolean markIfAbsent(String nonce, long issuedMillis) {
+
+		long bucketIndex = issuedMillis / bucketMillis;
+		long currentIndex = System.currentTimeMillis() / bucketMillis;
+		Stripe stripe = stripes[spread(nonce.hashCode()) & (STRIPE_COUNT - 1)];
+
+		boolean added;
+		synchronized (stripe) {
+			added = stripe.add(nonce, bucketIndex, currentIndex);
+		}
+
+		if (added)
+			acceptedCount.increment();
+		else
+			rejectedCount.increment();
+		return added;
+	}
+
+	/**
+	 * 등록한 nonce를 제거하는 메서드.
+	 *
+	 * nonce 등록 후 검증이 끝나기 전에 실패한 요청이 같은 QR 코드로 다시 시도할 수 있도록 합니다.
+	 *
+	 * @param nonce QR 코드 nonce
+	 * @param issuedMillis QR 코드 발행시간 (epoch 밀리초)
+	 */
+	public void release(String nonce, long issuedMillis) {
+
+		long bucketIndex = issuedMillis / bucketMillis;
+		Stripe stripe = stripes[spread(nonce.hashCode()) & (STRIPE_COUNT - 1)];
+
+		synchronized (stripe) {
+			stripe.remove(nonce, bucketIndex);
+		}
+	}
+
+	/**
+	 * 유효기간이 지난 bucket을 비우는 메서드. (요청이 없는 동안 메모리 반환)
+	 */
+	public void purgeExpired() {
+
+		long currentIndex = System.currentTimeMillis() / bucketMillis;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				stripe.purge(currentIndex);
+			}
+		}
+	}
+
+	/**
+	 * 현재 보관 중인 nonce 수를 반환하는 메서드.
+	 *
+	 * @return 보관 중인 nonce 수
+	 */
+	public int size() {
+
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 주기적으로 만료 bucket을 정리하고 통계를 로그로 남기는 메서드.
+	 */
+	@Scheduled(fixedDelayString = "${cache.stats.interval.ms}", initialDelayString = "${cache.stats.interval.ms}")
+	public void logStats() {
+		purgeExpired();
+		log.info("qr nonce store stats : size={}, accepted={}, rejected={}", size(), acceptedCount.sum(),
+				rejectedCount.sum());
+	}
+
+	// 해시 상위 비트를 섞어 stripe 분포를 고르게 함
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	// 잠금 단위 하나 : bucket 링 버퍼
+	private final class Stripe {
+
+		private final long[] bucketIndexes;
+		private final Set<String>[] buckets;
+
+		@SuppressWarnings("unchecked")
+		private Stripe(int ringSize) {
+			this.bucketIndexes = new long[ringSize];
+			this.buckets = new Set[ringSize];
+			for (int i = 0; i < ringSize; i++) {
+				bucketIndexes[i] = -1;
+				buckets[i] = new HashSet<>();
+			}
+		}
+
+		private boolean add(String nonce, long bucketIndex, long currentIndex) {
+
+			// 유효기간이 지난 발행시간 (만료 검사를 통과했다면 발생하지 않음)
+			if (isExpired(bucketIndex, currentIndex))
+				return false;
+
+			int slot = (int) (bucketIndex % bucketIndexes.length);
+			if (bucketIndexes[slot] != bucketIndex) {
+				// 링에 남아 있는 값이 더 최근 bucket이면 해당 발행시간은 이미 만료된 것
+				if (bucketIndexes[slot] > bucketIndex)
+					return false;
+				buckets[slot].clear();
+				bucketIndexes[slot] = bucketIndex;
+			}
+			return buckets[slot].add(nonce);
+		}
+
+		private void remove(String nonce, long bucketIndex) {
+
+			int slot = (int) (bucketIndex % bucketIndexes.length);
+			if (bucketIndexes[slot] == bucketIndex)
+				buckets[slot].remove(nonce);
+		}
+
+		private void purge(long currentIndex) {
+			for (int i = 0; i < bucketIndexes.length; i++) {
+				if (bucketIndexes[i] >= 0 && isExpired(bucketIndexes[i], currentIndex)) {
+					buckets[i] = new HashSet<>();
+					bucketIndexes[i] = -1;
+				}
+			}
+		}
+
+		private int size() {
+			int size = 0;
+			for (Set<String> bucket : buckets)
+				size += bucket.size();
+			return size;
+		}
+
+		// bucket의 마지막 시각 + 유효기간이 현재 bucket보다 이전이면 만료
+		private boolean isExpired(long bucketIndex, long currentIndex) {
+			return (bucketIndex + 1) * bucketMillis + windowMillis < currentIndex * bucketMillis;
+		}
+	}
+
+}
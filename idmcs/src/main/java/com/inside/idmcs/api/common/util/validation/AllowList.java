@@ -0,0 +1,193 @@
+package com.inside.idmcs.api.common.util.validation;
+
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 쉼표로 구분된 접속 허용 목록(IP, URL)을 한 번 파싱하여 보관하는 클래스.
+ *
+ * 일반 값은 HashSet으로 O(1) 비교하고, IP 목록의 CIDR 항목(예: 10.0.0.0/8)은 비트 단위 접두사 트라이로 검사합니다.
+ * 생성 후에는 변경되지 않으므로 여러 요청에서 공유해도 안전합니다.
+ */
+public final class AllowList {
+
+	private static final Pattern SEPARATOR = Pattern.compile("\\s*,\\s*");
+	private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+	// IPv6 리터럴 (':' 포함, 16진수, ':', '.'만 허용, 대괄호 선택, 대괄호가 없으면 16진수나 ':'로 시작)
+	// 이 형식만 InetAddress.getByName에서 호스트명 조회 없이 리터럴로 해석됨
+	private static final Pattern IPV6 = Pattern.compile("(?=.*:)(\\[[0-9A-Fa-f:.]+\\]|[0-9A-Fa-f:][0-9A-Fa-f:.]*)");
+
+	private static final AllowList EMPTY = new AllowList(Set.of(), null);
+
+	private final Set<String> values;
+	private final PrefixTrie cidrTrie;
+
+	private AllowList(Set<String> values, PrefixTrie cidrTrie) {
+		this.values = values;
+		this.cidrTrie = cidrTrie;
+	}
+
+	/**
+	 * 쉼표로 구분된 URL 목록으로 AllowList를 생성하는 메서드.
+	 *
+	 * @param joinedValues 쉼표로 구분된 URL 목록 문자열
+	 * @return 생성된 AllowList
+	 */
+	public static AllowList ofUrls(String joinedValues) {
+		return parse(joinedValues, false);
+	}
+
+	/**
+	 * 쉼표로 구분된 IP 목록으로 AllowList를 생성하는 메서드. CIDR 표기 항목은 범위로 검사합니다.
+	 *
+	 * @param joinedValues 쉼표로 구분된 IP(또는 CIDR) 목록 문자열
+	 * @return 생성된 AllowList
+	 */
+	public static AllowList ofIps(String joinedValues) {
+		return parse(joinedValues, true);
+	}
+
+	/**
+	 * 주어진 값이 허용 목록에 포함되는지 확인하는 메서드.
+	 *
+	 * @param value 검사할 값 (IP 또는 URL)
+	 * @return 포함되어 있으면 true, 그렇지 않으면 false
+	 */
+	public boolean contains(String value) {
+
+		if (value == null)
+			return false;
+
+		// 등록된 값과 정확히 일치
+		if (values.contains(value))
+			return true;
+
+		// CIDR 범위 검사
+		if (cidrTrie != null) {
+			byte[] address = toAddressBytes(value);
+			return address != null && cidrTrie.matches(address);
+		}
+
+		return false;
+	}
+
+	// 목록 문자열을 분리하여 정확히 일치할 값과 CIDR 범위로 나누어 저장
+	private static AllowList parse(String joinedValues, boolean ip) {
+
+		if (joinedValues == null || joinedValues.isBlank())
+			return EMPTY;
+
+		Set<String> values = new HashSet<>();
+		PrefixTrie cidrTrie = null;
+
+		for (String value : SEPARATOR.split(joinedValues.trim())) {
+			if (value.isEmpty())
+				continue;
+
+			int slash = value.indexOf('/');
+			if (ip && slash > 0) {
+				byte[] network = toAddressBytes(value.substring(0, slash));
+				Integer prefixLength = parsePrefixLength(value.substring(slash + 1), network);
+				if (prefixLength != null) {
+					if (cidrTrie == null)
+						cidrTrie = new PrefixTrie();
+					cidrTrie.add(network, prefixLength);
+					continue;
+				}
+			}
+			values.add(value);
+		}
+
+		return new AllowList(Set.copyOf(values), cidrTrie);
+	}
+
+	// CIDR 접두사 길이 파싱 (주소 길이를 넘으면 null)
+	private static Integer parsePrefixLength(String prefix, byte[] network) {
+
+		if (network == null || prefix.isEmpty() || prefix.length() > 3 || !prefix.chars().allMatch(Character::isDigit))
+			return null;
+
+		int prefixLength = Integer.parseInt(prefix);
+		return prefixLength <= network.length * 8 ? prefixLength : null;
+	}
+
+	// IP 문자열을 주소 바이트 배열로 변환 (IP 형식이 아니면 null, 호스트명 조회는 하지 않음)
+	private static byte[] toAddressBytes(String value) {
+
+		if (IPV4.matcher(value).matches()) {
+			String[] octets = value.split("\\.");
+			byte[] address = new byte[4];
+			for (int i = 0; i < 4; i++) {
+				int octet = Integer.parseInt(octets[i]);
+				if (octet > 255)
+					return null;
+				address[i] = (byte) octet;
+			}
+			return address;
+		}
+
+		// 요청 IP는 X-Forwarded-For 헤더 값이므로 IPv6 리터럴 형식만 변환 (InetAddress는 리터럴이 아니면 DNS 조회를 함)
+		if (IPV6.matcher(value).matches()) {
+			try {
+				return InetAddress.getByName(value).getAddress();
+			} catch (Exception e) {
+				return null;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * CIDR 범위를 비트 단위로 저장하는 이진 접두사 트라이.
+	 *
+	 * IPv4(4바이트)와 IPv6(16바이트) 주소는 각각 별도의 루트에서 관리합니다.
+	 */
+	private static final class PrefixTrie {
+
+		private final Node ipv4Root = new Node();
+		private final Node ipv6Root = new Node();
+
+		private void add(byte[] network, int prefixLength) {
+
+			Node node = root(network);
+			for (int i = 0; i < prefixLength; i++) {
+				int bit = bitAt(network, i);
+				if (node.children[bit] == null)
+					node.children[bit] = new Node();
+				node = node.children[bit];
+			}
+			node.terminal = true;
+		}
+
+		private boolean matches(byte[] address) {
+
+			Node node = root(address);
+			for (int i = 0; ; i++) {
+				if (node.terminal)
+					return true;
+				if (i == address.length * 8)
+					return false;
+				node = node.children[bitAt(address, i)];
+				if (node == null)
+					return false;
+			}
+		}
+
+		private Node root(byte[] address) {
+			return address.length == 4 ? ipv4Root : ipv6Root;
+		}
+
+		private static int bitAt(byte[] address, int index) {
+			return (address[index >> 3] >> (7 - (index & 7))) & 1;
+		}
+
+		private static final class Node {
+			private final Node[] children = new Node[2];
+			private boolean terminal;
+		}
+	}
+
+}
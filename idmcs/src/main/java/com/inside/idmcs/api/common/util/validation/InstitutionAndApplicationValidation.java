@@ -1,8 +1,5 @@
 package com.inside.idmcs.api.common.util.validation;
 
-import java.util.Arrays;
-import java.util.List;
-
 import org.springframework.stereotype.Component;
 
 import com.inside.idmcs.api.common.error.CustomException;
@@ -57,12 +54,12 @@ public class InstitutionAndApplicationValidation extends Validation {
 		}
 		
 		//접속가능 ip검사
-		if(!containsInJoinedValues(requestIp, instAndAppInfo.getIpList())) {
+		if(!getIpAllowList(instAndAppInfo).contains(requestIp)) {
 			throw new CustomException(ErrorCode.F107);
 		}
 		
 		//접속가능 url검사
-		if(!containsInJoinedValues(requestUrl, instAndAppInfo.getUrlList())) {
+		if(!getUrlAllowList(instAndAppInfo).contains(requestUrl)) {
 			throw new CustomException(ErrorCode.F106);
 		}
 		
@@ -85,27 +82,37 @@ public class InstitutionAndApplicationValidation extends Validation {
 	}
 
 	/**
-	 * 주어진 값이 쉼표로 구분된 문자열 목록에 포함되어 있는지 확인하는 메서드.
-	 * 
-	 * 쉼표로 구분된 문자열(values)을 분리하여 리스트로 만든 후, 주어진 값(value)이 그 리스트에 포함되어 있는지 검사합니다.
-	 * 
-	 * @param value 검사할 값
-	 * @param values 쉼표로 구분된 문자열 목록
-	 * @return 주어진 값이 문자열 목록에 포함되어 있으면 true, 그렇지 않으면 false
+	 * 기관앱정보의 접속 허용 IP 목록을 반환하는 메서드.
+	 *
+	 * 캐시 적재 시 파싱된 목록이 있으면 그대로 사용하고, 없으면 ipList를 파싱하여 기관앱정보에 저장합니다.
+	 *
+	 * @param instAndAppInfo 기관 및 애플리케이션 정보
+	 * @return 접속 허용 IP 목록 (CIDR 포함)
 	 */
-	public boolean containsInJoinedValues(String value, String values) {
-		
-		if (isNullOrEmpty(values)) {
-			return false;
-        }
-		
-		// ","로 분리하고 양쪽 공백 제거
-		List<String> ipList = Arrays.asList(values.split("\\s*,\\s*")); 
-		if (ipList.contains(value)) {
-			return true;
+	public AllowList getIpAllowList(InstitutionAndApplicationInfo instAndAppInfo) {
+		AllowList ipAllowList = instAndAppInfo.getIpAllowList();
+		if (ipAllowList == null) {
+			ipAllowList = AllowList.ofIps(instAndAppInfo.getIpList());
+			instAndAppInfo.setIpAllowList(ipAllowList);
 		}
-		
-		return false;
-	};
+		return ipAllowList;
+	}
+	
+	/**
+	 * 기관앱정보의 접속 허용 URL 목록을 반환하는 메서드.
+	 *
+	 * 캐시 적재 시 파싱된 목록이 있으면 그대로 사용하고, 없으면 urlList를 파싱하여 기관앱정보에 저장합니다.
+	 *
+	 * @param instAndAppInfo 기관 및 애플리케이션 정보
+	 * @return 접속 허용 URL 목록
+	 */
+	public AllowList getUrlAllowList(InstitutionAndApplicationInfo instAndAppInfo) {
+		AllowList urlAllowList = instAndAppInfo.getUrlAllowList();
+		if (urlAllowList == null) {
+			urlAllowList = AllowList.ofUrls(instAndAppInfo.getUrlList());
+			instAndAppInfo.setUrlAllowList(urlAllowList);
+		}
+		return urlAllowList;
+	}
 	
 }
@@ -0,0 +1,14 @@
+package com.inside.idmcs.api.common.util.validation;
+
+import org.springframework.stereotype.Component;
+
+import com.inside.idmcs.api.common.util.parser.Parser;
+
+@Component
+public class PhotoValidation extends IdValidation {
+
+	public PhotoValidation(Parser parser) {
+		super(parser);
+	}
+
+}
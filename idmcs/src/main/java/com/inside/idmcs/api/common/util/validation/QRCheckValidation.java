@@ -10,6 +10,7 @@ import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.qr.QR;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +33,7 @@ public class QRCheckValidation extends QRValidation {
 	 *                         - F103: 유효하지 않은 데이터 형식 또는 값
 	 *                               - 고객 CI의 크기가 88이 아닌 경우
 	 *                               - 서버 대칭키(encKey)의 크기가 33이 아닌 경우
+	 *                               - QR 코드 형식(qrType)이 IMAGE, TEXT가 아닌 경우
 	 */
 	@Override
 	public void isValid(ReqVO reqVO) throws CustomException {
@@ -44,28 +46,52 @@ public class QRCheckValidation extends QRValidation {
 			throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("서버 대칭키"));
 		}
 		
+		if(reqVO.getQrType() != null && !reqVO.getQrType().equals(QR.QR_TYPE_IMAGE)
+				&& !reqVO.getQrType().equals(QR.QR_TYPE_TEXT)) {
+			throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("QR 코드 형식"));
+		}
+		
 	}
 	
 	/**
-	 * QR 코드 발급 타임스탬프의 유효성을 검사하는 메서드.
+	 * QR 코드 발급 시간의 유효성을 검사하는 메서드.
 	 *
-	 * 이 메서드는 QR 코드 발급 타임스탬프가 주어진 시간(sec) 내에 유효한지 확인합니다.
-	 * 타임스탬프가 만료된 경우 F404 오류 코드와 함께 CustomException을 발생시킵니다.
+	 * 이 메서드는 QR 코드 발급 시간(epoch 밀리초)이 주어진 시간(sec) 내에 유효한지 확인합니다.
+	 * 만료된 경우 F404 오류 코드와 함께 CustomException을 발생시킵니다.
 	 *
-	 * @param qrMap QR 코드 정보가 담긴 맵 (발급 타임스탬프는 "issuedTimestamp" 키로 제공됨)
+	 * @param qrMap QR 코드 정보가 담긴 맵 (발급 시간은 "issuedMillis" 키로 제공됨)
 	 * @param sec 유효성 검사를 위한 시간(초) 제한
 	 * @throws CustomException QR 코드가 만료된 경우 F404 예외를 발생시킴
 	 * @throws Exception 기타 오류가 발생할 경우 발생하는 예외
 	 */
 	public void isValid(Map<String, String> qrMap, int sec) throws Exception {
 		
-		String qrIssuedTimestamp = qrMap.get("issuedTimestamp");
+		long qrIssuedMillis = Long.parseLong(qrMap.get("issuedMillis"));
 		
-		if (!checkExpired(qrIssuedTimestamp, sec)) {
+		if (!checkExpired(qrIssuedMillis, sec * 1000L)) {
 			throw new CustomException(ErrorCode.F404);
 		}
 	}
 	
+	/**
+	 * 주어진 발급 시간(epoch 밀리초)이 지정된 시간(밀리초) 내에 유효한지 검사하는 메서드.
+	 *
+	 * @param issuedMillis 발급 시간 (epoch 밀리초)
+	 * @param timeoutMillis 유효성을 검사할 제한 시간(밀리초)
+	 * @return 유효한 경우 true, 만료된 경우 false
+	 */
+	public boolean checkExpired(long issuedMillis, long timeoutMillis) {
+		
+		long currentMillis = System.currentTimeMillis();
+		
+		// 현재 시간이 발급 시간 + 제한 시간을 지났는지 확인
+		if (currentMillis > issuedMillis + timeoutMillis) {
+			log.error("유효기간 만료({}ms), 발급시간: {}, 검사시간: {}", timeoutMillis, issuedMillis, currentMillis);
+			return false;
+		}
+		return true;
+	}
+	
 	/**
 	 * 주어진 타임스탬프가 지정된 시간(초) 내에 유효한지 검사하는 메서드.
 	 *
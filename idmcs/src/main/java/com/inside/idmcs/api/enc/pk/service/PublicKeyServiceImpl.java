@@ -19,6 +19,8 @@ import com.inside.idmcs.api.common.model.dto.RequestInfo;
 import com.inside.idmcs.api.common.model.vo.req.PublicKeyReqVO;
 import com.inside.idmcs.api.common.model.vo.res.PublicKeyRes;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.InstitutionAndApplicationCache;
+import com.inside.idmcs.api.common.util.crypto.PrivateKeyCache;
 import com.inside.idmcs.api.common.util.logging.Logging;
 import com.inside.idmcs.api.common.util.parser.Parser;
 import com.inside.idmcs.api.common.util.validation.PublicKeyValidation;
@@ -36,20 +38,25 @@ public class PublicKeyServiceImpl implements PublicKeyService {
 	private final Logging logging;
 	private final PublicKeyValidation validation;
 	private final Parser parser;
+	private final PrivateKeyCache privateKeyCache;
+	private final InstitutionAndApplicationCache instAndAppCache;
 
 	public PublicKeyServiceImpl(PublicKeyDao publicKeyDao, Logging logging, Parser parser,
-			PublicKeyValidation validation) {
+			PublicKeyValidation validation, PrivateKeyCache privateKeyCache,
+			InstitutionAndApplicationCache instAndAppCache) {
 		this.publicKeyDao = publicKeyDao;
 		this.logging = logging;
 		this.validation = validation;
 		this.parser = parser;
+		this.privateKeyCache = privateKeyCache;
+		this.instAndAppCache = instAndAppCache;
 	}
 	
 	/**
 	 * 공개키 생성 요청을 처리하고 응답 데이터를 반환하는 메서드.
 	 *
 	 * 이 메서드는 요청 데이터(PublicKeyReqVO)와 HTTP 요청 정보를 사용하여 공개키를 생성합니다. 
-	 * 과정 중 발생하는 각 단계에 대해 로그를 비동기적으로 저장하며, 오류 발생 시 적절한 
+	 * 과정 중 발생하는 각 단계에 대해 로그를 누적하며, 오류 발생 시 적절한 
 	 * CustomException을 던집니다. 성공 시 생성된 공개키와 유효기간 정보를 포함한 ResVO 객체를 반환합니다.
 	 *
 	 * @param reqVO 공개키 생성을 위한 요청 데이터를 담고 있는 PublicKeyReqVO 객체
@@ -72,20 +79,20 @@ public class PublicKeyServiceImpl implements PublicKeyService {
 			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
 			logPk = logging.createLogPrimaryKey();
 
-			log.info("step3. saveLogAsync ({})", reqVO);
-			//로그 생성 비동기 : reqVO 정보
-			logging.saveLogAsync(logPk, reqVO);
+			log.info("step3. appendLog ({})", reqVO);
+			//로그 누적 : reqVO 정보
+			logging.appendLog(logPk, reqVO);
 
 			log.info("step4. getRequestInfo ({})", request);
 			//RequestInfo 생성(url, ip 등 request 정보)
 			RequestInfo requestInfo = parser.getRequestInfo(request);
 
-			log.info("step5. saveLogAsync ({})", requestInfo);
-			// 로그 생성 비동기 : requestInfo 정보
-			logging.saveLogAsync(logPk, requestInfo);
+			log.info("step5. appendLog ({})", requestInfo);
+			// 로그 누적 : requestInfo 정보
+			logging.appendLog(logPk, requestInfo);
 
 			log.info("step6. selectInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(), reqVO.getApplicationToken());
-			// 기관앱정보 데이터베이서 select
+			// 기관앱정보 데이터베이서 select (키 정보를 갱신하므로 캐시를 거치지 않음)
 			InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao
 					.selectInstAndAppInfo(reqVO.getAgencyToken(), reqVO.getApplicationToken());
 			if(instAndAppInfo == null) {
@@ -96,23 +103,26 @@ public class PublicKeyServiceImpl implements PublicKeyService {
 			// 기관앱정보 유효성 검사
 			validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
 
-			log.info("step8. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 기관앱정보 비동기 (키정보 X)
-			logging.saveLogAsync(logPk, instAndAppInfo);
+			log.info("step8. appendLog ({})", instAndAppInfo);
+			// 로그 누적 기관앱정보 (키정보 X)
+			logging.appendLog(logPk, instAndAppInfo);
 
 			log.info("step9. createKeyPair ({})", instAndAppInfo);
 			//공개키 생성 후 기관앱 정보 객체에 set
 			instAndAppInfo = createKeyPair(instAndAppInfo, 12);
 
-			log.info("step10. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 공개키정보 비동기 (키정보 O)
-			logging.saveLogAsync(logPk, instAndAppInfo);
+			log.info("step10. appendLog ({})", instAndAppInfo);
+			// 로그 누적 공개키정보 (키정보 O)
+			logging.appendLog(logPk, instAndAppInfo);
 
 			log.info("step11. updateKeyPairInfoToApplication ({})", instAndAppInfo);
 			// 키정보를 application테이블에 update
 			if (publicKeyDao.updateKeyPairInfoToApplication(instAndAppInfo) == 0) {
 				throw new CustomException(ErrorCode.F801, ErrorCode.F801.formatMessage("키정보 업데이트 실패(updateKeyPairInfoToApplication)"));
 			}
+			// 이전 키 정보가 담긴 기관앱정보 캐시와 파싱된 개인키 캐시 제거 (커밋 후 한 번 더 제거)
+			instAndAppCache.invalidateApp(instAndAppInfo.getAppNo());
+			privateKeyCache.evict(instAndAppInfo.getAppNo());
 			
 			log.info("step12. createPublicKeyRes (publicKey: {}, sDate: {}, eDate: {})", 
 					instAndAppInfo.getPublicKey(), instAndAppInfo.getKeyVldBgngYmd(), instAndAppInfo.getKeyVldEndYmd());
@@ -128,9 +138,9 @@ public class PublicKeyServiceImpl implements PublicKeyService {
 			@SuppressWarnings("unchecked")
 			ResVO<T> resVO = (ResVO<T>) new ResVO<PublicKeyRes>(sCode.name(), sCode.getDescription(), res);
 
-			log.info("step14. saveLogAsync (sCode: {}, sMsg: {})", sCode, resVO);
-			// 로그갱신 resVO 비동기
-			logging.saveLogAsync(logPk, sCode.name(), sCode.getDescription(), parser.toJson(resVO));
+			log.info("step14. appendLog (sCode: {}, sMsg: {})", sCode, resVO);
+			// 로그 누적 resVO
+			logging.appendLog(logPk, sCode.name(), sCode.getDescription(), parser.toJson(resVO));
 			
 			log.info("step15. End : generatePublicKeyRequest");
 			return resVO;
@@ -138,14 +148,14 @@ public class PublicKeyServiceImpl implements PublicKeyService {
 		} catch (CustomException e) {
 			log.error("에러 : {}", e.getMessage(), e);
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, e.getErrorCode().name(), e.getErrorCode().getDescription(),
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getErrorCode().getDescription(),
 					null);
 			throw e;
 		} catch (Exception e) {
 			log.error("기타 에러 : {}", e.getMessage(), e);
 			ErrorCode errorCode = ErrorCode.F901;
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, errorCode.name(), errorCode.getDescription(), null);
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
 			
 			throw new CustomException(errorCode);
 		}
@@ -32,6 +32,14 @@ public interface IdCheckDao {
 	 */
 	int updateIdInfo(IdInfo idInfo);
 
+	/**
+	 * 직원 아이디로 현재 가입 상태를 조회하는 메서드. (캐시를 거치지 않음)
+	 *
+	 * @param userId 직원 아이디
+	 * @return 가입 상태 (Y/N), 존재하지 않으면 null
+	 */
+	String selectRegistYn(String userId);
+
 	/**
 	 * QR 코드와 연관된 IdInfo 객체를 조회하는 메서드.
 	 *
@@ -40,7 +48,13 @@ public interface IdCheckDao {
 	 */
 	IdInfo selectIdInfoWithUserId(String userId);
 
-	String selectPhotoData(String userId);
+	/**
+	 * 직원 아이디로 사진 데이터를 조회하는 메서드.
+	 *
+	 * @param userId 직원 아이디
+	 * @return 사진 데이터 (이미지 바이너리), 존재하지 않으면 null
+	 */
+	byte[] selectPhotoData(String userId);
 
 }
 	
\ No newline at end of file
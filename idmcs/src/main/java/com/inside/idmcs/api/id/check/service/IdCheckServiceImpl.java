@@ -1,7 +1,9 @@
 package com.inside.idmcs.api.id.check.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.inside.idmcs.api.ApiCallService;
 import com.inside.idmcs.api.common.error.CustomException;
@@ -14,12 +16,16 @@ import com.inside.idmcs.api.common.model.vo.req.IdCheckReqVO;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.model.vo.res.IdInfoRes;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.IdInfoCache;
+import com.inside.idmcs.api.common.util.cache.InstitutionAndApplicationCache;
+import com.inside.idmcs.api.common.util.concurrent.ParallelTasks;
 import com.inside.idmcs.api.common.util.crypto.IdCheckCrypto;
+import com.inside.idmcs.api.common.util.fingerprint.IdInfoFingerprint;
 import com.inside.idmcs.api.common.util.logging.Logging;
 import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
 import com.inside.idmcs.api.common.util.qr.QR;
 import com.inside.idmcs.api.common.util.validation.IdCheckValidation;
-import com.inside.idmcs.api.enc.pk.dao.PublicKeyDao;
 import com.inside.idmcs.api.id.check.dao.IdCheckDao;
 import com.inside.idmcs.api.id.regist.dao.IdRegistrationDao;
 
@@ -31,8 +37,9 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class IdCheckServiceImpl implements IdCheckService {
 
-	private final PublicKeyDao publicKeyDao;
+	private final InstitutionAndApplicationCache instAndAppCache;
 	private final IdCheckDao idCheckDao;
+	private final IdInfoCache idInfoCache;
 	private final Logging logging;
 	private final Parser parser;
 	private final IdCheckValidation validation;
@@ -40,12 +47,19 @@ public class IdCheckServiceImpl implements IdCheckService {
 	private final QR qr;
 	private final IdRegistrationDao idRegistrationDao;
 	private final ApiCallService apiCallService;
+	private final PhotoDelivery photoDelivery;
+	private final TransactionTemplate transactionTemplate;
+	private final ParallelTasks parallelTasks;
+	private final IdInfoFingerprint idInfoFingerprint;
 	
 
-	public IdCheckServiceImpl(IdCheckDao idCheckDao, Logging logging, Parser parser, PublicKeyDao publicKeyDao, ApiCallService apiCallService,
-			IdCheckValidation validation, IdCheckCrypto crypto, QR qr, IdRegistrationDao idRegistrationDao) {
-		this.publicKeyDao = publicKeyDao;
+	public IdCheckServiceImpl(IdCheckDao idCheckDao, Logging logging, Parser parser, InstitutionAndApplicationCache instAndAppCache, ApiCallService apiCallService,
+			IdCheckValidation validation, IdCheckCrypto crypto, QR qr, IdRegistrationDao idRegistrationDao,
+			IdInfoCache idInfoCache, PhotoDelivery photoDelivery, TransactionTemplate transactionTemplate,
+			ParallelTasks parallelTasks, IdInfoFingerprint idInfoFingerprint) {
+		this.instAndAppCache = instAndAppCache;
 		this.idCheckDao = idCheckDao;
+		this.idInfoCache = idInfoCache;
 		this.logging = logging;
 		this.parser = parser;
 		this.validation = validation;
@@ -53,15 +67,25 @@ public class IdCheckServiceImpl implements IdCheckService {
 		this.qr = qr;
 		this.idRegistrationDao = idRegistrationDao;
 		this.apiCallService = apiCallService;
+		this.photoDelivery = photoDelivery;
+		this.transactionTemplate = transactionTemplate;
+		this.parallelTasks = parallelTasks;
+		this.idInfoFingerprint = idInfoFingerprint;
 	}
 	
 	/**
 	 * 신분 확인 요청을 처리하고 응답 데이터를 반환하는 메서드.
 	 *
 	 * 이 메서드는 주어진 IdCheckReqVO 요청 객체와 HTTP 요청 정보를 사용하여 
-	 * 신분 확인을 수행하며, 각 처리 단계에서 로그를 비동기적으로 저장합니다. 
+	 * 신분 확인을 수행하며, 각 처리 단계에서 로그를 누적합니다. 
 	 * 신분 정보가 유효하지 않은 경우 CustomException을 발생시킵니다. 
 	 * 성공 시 생성된 IdInfoRes 응답 객체를 포함하는 ResVO 객체를 반환합니다.
+	 * 내부망 API 호출 중에는 데이터베이스 연결을 점유하지 않도록 메서드 전체를 트랜잭션으로 묶지 않고,
+	 * 조회는 각각 짧게 수행하며 신분정보, 사진 저장만 하나의 트랜잭션으로 처리합니다.
+	 * 저장 시 가입 상태(stts = 'Y')를 다시 확인하여 API 호출 중 해지된 직원의 정보는 저장하지 않습니다.
+	 * API 결과의 신분정보 지문과 사진 해시가 저장된 값과 같으면 저장과 캐시 제거를 생략합니다.
+	 * 서로 의존하지 않는 단계(직원정보 조회와 내부망 API 호출, 신분정보 저장과 QR 생성)는 ParallelTasks로 동시에 실행하고,
+	 * 한쪽이 실패하면 다른 쪽 결과는 취소하여 순차 실행과 같은 오류 코드를 반환합니다.
 	 *
 	 * @param reqVO 신분 확인을 위한 요청 데이터를 담고 있는 IdCheckReqVO 객체
 	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
@@ -70,11 +94,10 @@ public class IdCheckServiceImpl implements IdCheckService {
 	 * @throws CustomException 다음과 같은 경우 예외를 발생시킴:
 	 *                         - F104: 유효하지 않은 기관 또는 앱 정보
 	 *                         - F201: 조회된 신분 정보가 존재하지 않음
-	 *                         - F206: 신분 정보 조회 권한이 없음
+	 *                         - F206: 신분 정보 조회 권한이 없음 (API 호출 중 해지된 경우 포함)
 	 *                         - F801: 신분 정보 업데이트 또는 응답 객체 생성 실패
 	 *                         - F901: 예상치 못한 시스템 오류 발생
 	 */
-	@Transactional
 	@Override
 	public <T> ResVO<T> checkIdRequest(@Valid IdCheckReqVO reqVO, HttpServletRequest request) throws CustomException {
 
@@ -85,22 +108,22 @@ public class IdCheckServiceImpl implements IdCheckService {
 			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
 			logPk = logging.createLogPrimaryKey();
 
-			log.info("step3. saveLogAsync ({})", reqVO);
-			// 로그 생성 비동기 : reqVO 정보
-			logging.saveLogAsync(logPk, reqVO);
+			log.info("step3. appendLog ({})", reqVO);
+			// 로그 누적 : reqVO 정보
+			logging.appendLog(logPk, reqVO);
 
 			log.info("step4. getRequestInfo ({})", request);
 			//RequestInfo 생성(url, ip 등 request 정보)
 			RequestInfo requestInfo = parser.getRequestInfo(request);
 
-			log.info("step5. saveLogAsync ({})", requestInfo);
-			// 로그 생성 비동기 : requestInfo 정보
-			logging.saveLogAsync(logPk, requestInfo);
+			log.info("step5. appendLog ({})", requestInfo);
+			// 로그 누적 : requestInfo 정보
+			logging.appendLog(logPk, requestInfo);
 
-			log.info("step6. selectInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
+			log.info("step6. getInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
 					reqVO.getApplicationToken());
-			// 기관앱정보 데이터베이서 select
-			InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao.selectInstAndAppInfo(reqVO.getAgencyToken(),
+			// 기관앱정보 조회 (캐시에 없으면 데이터베이스 select)
+			InstitutionAndApplicationInfo instAndAppInfo = instAndAppCache.get(reqVO.getAgencyToken(),
 					reqVO.getApplicationToken());
 			if (instAndAppInfo == null) {
 				log.error("기관앱정보 조회 실패 agencyToken: {}, applicationToken: {}", reqVO.getAgencyToken(),
@@ -113,70 +136,110 @@ public class IdCheckServiceImpl implements IdCheckService {
 			// 기관앱정보 유효성 검사
 			validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
 
-			log.info("step8. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 기관앱정보 비동기
-			logging.saveLogAsync(logPk, instAndAppInfo);
+			log.info("step8. appendLog ({})", instAndAppInfo);
+			// 로그 누적 기관앱정보
+			logging.appendLog(logPk, instAndAppInfo);
 
 			log.info("step9. decryptReqVO ({})", reqVO);
 			// 신분등록ReqVO 데이터 복호화
-			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo.getPrivateKey());
+			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo);
 			
 			log.info("step10. isValid ({})", decryptReqVO);
 			// 복호화된 IdCheckReqVO정보 유효성 검사
 			validation.isValid(decryptReqVO);
 
-			log.info("step11. saveLogAsync ({})", decryptReqVO);
-			// 로그 갱신 reqVO 비동기
-			logging.saveLogAsync(logPk, decryptReqVO);
+			log.info("step11. appendLog ({})", decryptReqVO);
+			// 로그 누적 reqVO
+			logging.appendLog(logPk, decryptReqVO);
 			
 			log.info("step12. selectIdInfo (ci: {})", decryptReqVO.getCi());
-			// 직원정보 가져오기
-			IdInfo idInfoDb = idCheckDao.selectIdInfo(decryptReqVO.getCi());
-			if (idInfoDb == null) 
-				throw new CustomException(ErrorCode.F201); 
-			
-			log.info("step13. saveLogAsync ({})", idInfoDb);
-			// 로그 갱신 신분정보 비동기
-			logging.saveLogAsync(logPk, idInfoDb);
+			// 내부망 신분정보 api 호출은 CI만 필요하므로 직원정보 조회와 동시에 실행
+			String ci = decryptReqVO.getCi();
+			CompletableFuture<IdInfo> apiFuture = parallelTasks.fork(() -> {
+				IdInfo apiIdInfo = apiCallService.apiGetIdInfo(ci);
+				// 사진 해시 (로그와 응답에는 사진 대신 해시를 담음)
+				if (apiIdInfo != null)
+					apiIdInfo.setPhotoHash(photoDelivery.hash(apiIdInfo.getPhoto()));
+				return apiIdInfo;
+			});
 			
-			log.info("step14. checkRegistYn (registYn: {})", idInfoDb.getRegistYn());
-			// 조회가능 여부 확인
-			if(idInfoDb.getRegistYn().equals("N"))
-				throw new CustomException(ErrorCode.F206);
+			IdInfo idInfoDb;
+			try {
+				// 직원정보 가져오기
+				idInfoDb = idInfoCache.getWithCi(ci);
+				if (idInfoDb == null) 
+					throw new CustomException(ErrorCode.F201); 
+				
+				log.info("step13. appendLog ({})", idInfoDb);
+				// 로그 누적 신분정보
+				logging.appendLog(logPk, idInfoDb);
+				
+				log.info("step14. checkRegistYn (registYn: {})", idInfoDb.getRegistYn());
+				// 조회가능 여부 확인
+				if(idInfoDb.getRegistYn().equals("N"))
+					throw new CustomException(ErrorCode.F206);
+			} catch (CustomException | RuntimeException e) {
+				// 조회 불가이면 api 호출 결과는 사용하지 않음
+				parallelTasks.cancel(apiFuture);
+				throw e;
+			}
 			
-			log.info("step15. apiGetIdInfo (ci: {})", decryptReqVO.getCi());
-			//내부망에서 신분정보 불러오는 api 호출
-			IdInfo idInfo = apiCallService.apiGetIdInfo(decryptReqVO.getCi());
+			log.info("step15. apiGetIdInfo (ci: {})", ci);
+			//내부망에서 신분정보 불러오는 api 호출 결과 대기
+			IdInfo idInfo = parallelTasks.join(apiFuture);
 			
-			log.info("step16. saveLogAsync ({})", idInfo);
-			// 로그 갱신 idInfo 비동기
-			logging.saveLogAsync(logPk, idInfo);
+			log.info("step16. appendLog ({})", idInfo);
+			// 로그 누적 idInfo
+			logging.appendLog(logPk, idInfo);
 			
 			log.info("step17. isValid ({})", idInfo);
 			//유효성검사 추가
 			validation.isValid(idInfo);
 			
-			log.info("step18. updateIdInfo ({})", idInfo);
-			//신분정보 직원데이터베이스에 업데이트 
-			if(idCheckDao.updateIdInfo(idInfo) == 0) 
-				throw new CustomException(ErrorCode.F801, ErrorCode.F801.formatMessage("신분정보 업데이트(updateIdInfo)"));
+			// qr 생성은 저장과 관계없으므로 신분정보 저장과 동시에 실행
+			String userId = idInfo.getUserId();
+			CompletableFuture<String> qrFuture = parallelTasks.fork(() -> qr.createQRCodeWithId(userId, 150));
 			
-			log.info("step19. savePhoto ({})", idInfo);
-			//사진정보 save
-			if(idInfo.getPhoto() != null) 
-				idRegistrationDao.savePhoto(idInfo);
-
-			log.info("step20. checkUseIdInfo ({}, {}, instNm: {})", decryptReqVO, idInfo, instAndAppInfo.getInstNm());
-			// Req와 idInfo 정보 유효성검사
-			validation.checkUseIdInfo(decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+			try {
+				log.info("step18. saveIdInfoAndPhoto ({})", idInfo);
+				// 신분정보 지문 (저장된 지문과 같으면 업데이트 생략)
+				idInfo.setSyncHash(idInfoFingerprint.createSyncHash(idInfo));
+				if (isUnchanged(idInfo, idInfoDb)) {
+					log.info("신분정보, 사진 변경 없음 - 저장 생략 (userId: {})", userId);
+					// idInfoDb는 API 호출 전 캐시에서 읽은 값이므로 그 사이 해지되었는지 데이터베이스에서 다시 확인
+					if (!"Y".equals(idCheckDao.selectRegistYn(userId)))
+						throw new CustomException(ErrorCode.F206);
+				} else {
+					//신분정보 직원데이터베이스에 업데이트, 사진정보 save (하나의 트랜잭션, 가입 상태가 아니면 저장하지 않음)
+					if (!saveIdInfoAndPhoto(idInfo, idInfoDb))
+						throw new CustomException(ErrorCode.F206);
+					
+					// 신분정보 캐시 제거
+					idInfoCache.evict(userId, ci);
+				}
+	
+				log.info("step19. checkUseIdInfo ({}, {}, instNm: {})", decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+				// Req와 idInfo 정보 유효성검사
+				validation.checkUseIdInfo(decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+			} catch (CustomException | RuntimeException e) {
+				// 저장 또는 검사 실패 시 생성 중인 qr은 사용하지 않음
+				parallelTasks.cancel(qrFuture);
+				throw e;
+			}
 
-			log.info("step21. createQRCodeWithId (id: {})", idInfo.getUserId());
-			// qr 생성
-			String qrCode = qr.createQRCodeWithId(idInfo.getUserId(), 150);
+			log.info("step20. createQRCodeWithId (id: {})", userId);
+			// qr 생성 결과 대기
+			String qrCode = parallelTasks.join(qrFuture);
 
-			log.info("step22. saveLogAsync (qrCode: {})", qrCode);
+			log.info("step21. appendLog (qrCode: {})", qrCode);
 			// qr정보 로그갱신
-			logging.saveLogAsync(logPk, qrCode);
+			logging.appendLog(logPk, qrCode);
+
+			log.info("step22. createPhotoToken (userId: {})", idInfo.getUserId());
+			// 사진은 사진 조회 API로 따로 전달 (응답에는 사진 해시와 사진 조회 토큰만 담고 사진 암호화 생략)
+			String photoToken = idInfo.getPhotoHash() != null ? photoDelivery.createToken(idInfo.getUserId()) : null;
+			if (!photoDelivery.isInlineEnabled())
+				idInfo.setPhoto(null);
 
 			log.info("step23. encryptIdInfo ({}, appKey: {})", idInfo, idInfo.getAppKey());
 			// idInfo 중 resVO로 전달해야하는 데이터 id정보는 appkey로 암호화
@@ -184,7 +247,7 @@ public class IdCheckServiceImpl implements IdCheckService {
 
 			log.info("step24. createIdInfoRes (qrCode: {}, {})", qrCode, idInfo);
 			// IdInfoRes객체 생성
-			IdInfoRes res = createIdInfoRes(qrCode, idInfo);
+			IdInfoRes res = createIdInfoRes(qrCode, idInfo, photoToken);
 
 			SuccessCode sCode = SuccessCode.S00000;
 
@@ -193,9 +256,9 @@ public class IdCheckServiceImpl implements IdCheckService {
 			@SuppressWarnings("unchecked")
 			ResVO<T> resVO = (ResVO<T>) new ResVO<IdInfoRes>(sCode.name(), sCode.getDescription(), res);
 
-			log.info("step26. saveLogAsync ({})", resVO);
-			// 로그갱신 resVO 비동기
-			logging.saveLogAsync(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
+			log.info("step26. appendLog ({})", resVO);
+			// 로그 누적 resVO
+			logging.appendLog(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
 
 			log.info("step27. End : checkIdRequest");
 			return resVO; 
@@ -203,7 +266,7 @@ public class IdCheckServiceImpl implements IdCheckService {
 		} catch (CustomException e) {
 			log.error("에러 : {}", e.getMessage(), e);
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, e.getErrorCode().name(), e.getMessage(), null);
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
 
 			throw e;
 		} //sql exception 추가
@@ -211,21 +274,52 @@ public class IdCheckServiceImpl implements IdCheckService {
 			log.error("기타 에러 : {}", e.getMessage(), e);
 			ErrorCode errorCode = ErrorCode.F901;
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, errorCode.name(), errorCode.getDescription(), null);
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
 
 			throw new CustomException(errorCode);
 		}
 	}
 
+	/**
+	 * 신분정보 업데이트와 사진 저장을 하나의 짧은 트랜잭션으로 수행하는 메서드.
+	 *
+	 * 신분정보 업데이트 대상이 없으면(해지 등 가입 상태가 아닌 경우) 사진을 저장하지 않고 롤백합니다.
+	 * 사진은 저장된 사진 해시와 다른 경우에만 저장합니다.
+	 *
+	 * @param idInfo 저장할 신분정보
+	 * @param idInfoDb 데이터베이스에 저장된 신분정보 (사진 해시 비교)
+	 * @return 저장한 경우 true, 업데이트 대상이 없는 경우 false
+	 */
+	private boolean saveIdInfoAndPhoto(IdInfo idInfo, IdInfo idInfoDb) {
+
+		Boolean saved = transactionTemplate.execute(status -> {
+			if (idCheckDao.updateIdInfo(idInfo) == 0) {
+				status.setRollbackOnly();
+				return false;
+			}
+			if (idInfo.getPhoto() != null && !idInfo.getPhotoHash().equals(idInfoDb.getPhotoHash()))
+				idRegistrationDao.savePhoto(idInfo);
+			return true;
+		});
+		return Boolean.TRUE.equals(saved);
+	}
+
+	// 저장된 신분정보 지문과 사진 해시가 모두 같은지 확인 (사진이 없으면 신분정보만 비교)
+	private boolean isUnchanged(IdInfo idInfo, IdInfo idInfoDb) {
+		return idInfo.getSyncHash().equals(idInfoDb.getSyncHash())
+				&& (idInfo.getPhoto() == null || idInfo.getPhotoHash().equals(idInfoDb.getPhotoHash()));
+	}
+
 	/**
 	 * QR 코드와 신분 정보를 조합하여 IdInfoRes 객체를 생성하는 메서드.
 	 *
 	 * @param qrCode 생성된 QR 코드 문자열
 	 * @param idInfo 신분 정보가 담긴 IdInfo 객체
+	 * @param photoToken 사진 조회 토큰 (사진이 없으면 null)
 	 * @return 생성된 IdInfoRes 객체
 	 * @throws CustomException 신분 정보 응답 객체 생성 실패 시 F801 예외를 발생시킴
 	 */
-	private IdInfoRes createIdInfoRes(String qrCode, IdInfo idInfo) throws Exception {
+	private IdInfoRes createIdInfoRes(String qrCode, IdInfo idInfo, String photoToken) throws Exception {
 
 		try {
 			IdInfoRes idInfoRes = new IdInfoRes();
@@ -238,6 +332,8 @@ public class IdCheckServiceImpl implements IdCheckService {
 			idInfoRes.setAddress(idInfo.getAddress());
 			idInfoRes.setDetailAddress(idInfo.getDetailAddress());
 			idInfoRes.setPhoto(idInfo.getPhoto());
+			idInfoRes.setPhotoHash(idInfo.getPhotoHash());
+			idInfoRes.setPhotoToken(photoToken);
 			idInfoRes.setIssuOrgName(idInfo.getIssuedInstNm());
 
 			return idInfoRes;
@@ -0,0 +1,76 @@
+package com.inside.idmcs.api.id.photo.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+import com.inside.idmcs.api.common.error.SuccessCode;
+import com.inside.idmcs.api.common.model.vo.res.PhotoRes;
+import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
+import com.inside.idmcs.api.id.photo.service.PhotoService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Controller
+public class PhotoController {
+
+	private final PhotoService photoService;
+	private final PhotoDelivery photoDelivery;
+
+	public PhotoController(PhotoService photoService, PhotoDelivery photoDelivery) {
+		this.photoService = photoService;
+		this.photoDelivery = photoDelivery;
+	}
+
+	/**
+	 * 직원 사진 조회 요청을 처리하는 API 엔드포인트.
+	 *
+	 * 이 메서드는 신분 확인, QR 검증 응답으로 받은 사진 조회 토큰으로 직원 사진을 조회합니다.
+	 * 사진 해시를 ETag로 내려주며, If-None-Match가 현재 사진 해시와 같으면 본문 없이 304를 반환합니다.
+	 * 클라이언트는 캐시한 사진을 매번 재검증해야 하므로 Cache-Control은 private, no-cache로 설정합니다.
+	 *
+	 * @param photoToken 사진 조회 토큰
+	 * @param ifNoneMatch 클라이언트가 가진 사진의 ETag (If-None-Match 헤더)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @return 사진 응답 데이터를 포함한 ResponseEntity 객체
+	 *         - 성공: HTTP 상태 코드 200과 함께 ResVO<PhotoRes> 객체 반환 (ETag 포함)
+	 *         - 변경 없음: HTTP 상태 코드 304 (본문 없음, ETag 포함)
+	 *         - CustomException 발생 시: 오류 코드와 메시지 포함
+	 *         - 기타 예외 발생 시: F901 오류 코드와 메시지 포함
+	 */
+	@GetMapping("/api/idv/rrc/photo/{photoToken}")
+	public ResponseEntity<ResVO<PhotoRes>> getPhotoRequest(@PathVariable("photoToken") String photoToken,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch, HttpServletRequest request) {
+
+		try {
+			ResVO<PhotoRes> resVO = photoService.getPhotoRequest(photoToken, ifNoneMatch, request);
+			String eTag = photoDelivery.toETag(resVO.getRetData().getPhotoHash());
+			CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+			if (SuccessCode.S00304.name().equals(resVO.getResultCode()))
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+
+			return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(resVO);
+		} catch (CustomException e) {
+			ResVO<PhotoRes> resVO = new ResVO<>(e.getErrorCode().name(), e.getMessage());
+
+			return new ResponseEntity<>(resVO, HttpStatus.OK);
+		} catch (Exception e) {
+			// 서비스에서 예상하지 못한 오류 예외 처리
+			log.error("알 수 없는 오류 : {}", e.getMessage(), e);
+			ErrorCode errorCode = ErrorCode.F901;
+			ResVO<PhotoRes> resVO = new ResVO<>(errorCode.name(), errorCode.getDescription());
+
+			return new ResponseEntity<>(resVO, HttpStatus.OK);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.inside.idmcs.api.id.photo.service;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.model.vo.res.PhotoRes;
+import com.inside.idmcs.api.common.model.vo.res.ResVO;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public interface PhotoService {
+
+	/**
+	 * 사진 조회 요청을 처리하고 응답 데이터를 생성하는 메서드.
+	 *
+	 * 이 메서드는 사진 조회 토큰으로 직원 사진을 조회하며, If-None-Match 값이 현재 사진 해시와 같으면
+	 * 사진 없이 S00304(변경 없음) 결과를 반환합니다. 오류가 발생할 경우 CustomException을 던집니다.
+	 *
+	 * @param photoToken 신분 확인, QR 검증 응답으로 받은 사진 조회 토큰
+	 * @param ifNoneMatch 클라이언트가 가진 사진의 ETag (If-None-Match 헤더, 없으면 null)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @return 사진 조회 결과를 포함한 ResVO 객체
+	 * @throws CustomException 사진 조회 과정에서 오류가 발생할 경우 발생하는 예외
+	 */
+	ResVO<PhotoRes> getPhotoRequest(String photoToken, String ifNoneMatch, HttpServletRequest request) throws CustomException;
+
+}
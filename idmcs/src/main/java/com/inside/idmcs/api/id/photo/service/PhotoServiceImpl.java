@@ -0,0 +1,138 @@
+package com.inside.idmcs.api.id.photo.service;
+
+import org.springframework.stereotype.Service;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+import com.inside.idmcs.api.common.error.SuccessCode;
+import com.inside.idmcs.api.common.model.dto.IdInfo;
+import com.inside.idmcs.api.common.model.dto.RequestInfo;
+import com.inside.idmcs.api.common.model.vo.res.PhotoRes;
+import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.IdInfoCache;
+import com.inside.idmcs.api.common.util.crypto.PhotoCrypto;
+import com.inside.idmcs.api.common.util.logging.Logging;
+import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
+import com.inside.idmcs.api.common.util.validation.PhotoValidation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class PhotoServiceImpl implements PhotoService {
+
+	private final IdInfoCache idInfoCache;
+	private final Logging logging;
+	private final Parser parser;
+	private final PhotoValidation validation;
+	private final PhotoCrypto crypto;
+	private final PhotoDelivery photoDelivery;
+
+	public PhotoServiceImpl(IdInfoCache idInfoCache, Logging logging, Parser parser, PhotoValidation validation,
+			PhotoCrypto crypto, PhotoDelivery photoDelivery) {
+		this.idInfoCache = idInfoCache;
+		this.logging = logging;
+		this.parser = parser;
+		this.validation = validation;
+		this.crypto = crypto;
+		this.photoDelivery = photoDelivery;
+	}
+
+	/**
+	 * 사진 조회 요청을 처리하고 응답 데이터를 반환하는 메서드.
+	 *
+	 * 이 메서드는 사진 조회 토큰의 서명과 유효기간을 확인한 뒤 직원 사진을 조회합니다.
+	 * If-None-Match 값이 현재 사진 해시와 같으면 사진 암호화, 전송 없이 S00304 결과를 반환하고,
+	 * 다르면 직원 appKey로 암호화한 사진과 사진 해시를 반환합니다.
+	 *
+	 * @param photoToken 신분 확인, QR 검증 응답으로 받은 사진 조회 토큰
+	 * @param ifNoneMatch 클라이언트가 가진 사진의 ETag (If-None-Match 헤더, 없으면 null)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @return 사진 조회 결과를 포함한 ResVO 객체
+	 * @throws CustomException 다음과 같은 경우 예외를 발생시킴:
+	 *                         - F210: 사진 조회 토큰 위조 또는 유효기간 만료
+	 *                         - F201: 신분 정보 또는 사진이 존재하지 않음
+	 *                         - F301, F302, F206: 비정상 직원, 신분증 상태 또는 신분 서비스 해지
+	 *                         - F110: 사진 암호화 오류
+	 *                         - F901: 예상치 못한 시스템 오류 발생
+	 */
+	@Override
+	public ResVO<PhotoRes> getPhotoRequest(String photoToken, String ifNoneMatch, HttpServletRequest request)
+			throws CustomException {
+
+		log.info("step1. start : getPhotoRequest");
+		String logPk = "";
+		try {
+			log.info("step2. createLogPrimaryKey");
+			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
+			logPk = logging.createLogPrimaryKey();
+
+			log.info("step3. getRequestInfo ({})", request);
+			//RequestInfo 생성(url, ip 등 request 정보)
+			RequestInfo requestInfo = parser.getRequestInfo(request);
+
+			log.info("step4. appendLog ({})", requestInfo);
+			// 로그 누적 : requestInfo 정보
+			logging.appendLog(logPk, requestInfo);
+
+			log.info("step5. parseToken (photoToken: {})", photoToken);
+			// 사진 조회 토큰 서명, 유효기간 검사 후 직원 아이디 추출
+			String userId = photoDelivery.parseToken(photoToken);
+
+			log.info("step6. getWithUserId ({})", userId);
+			// 직원정보, 사진 가져오기 (캐시에 없으면 데이터베이스 select)
+			IdInfo idInfo = idInfoCache.getWithUserId(userId);
+			if (idInfo == null || idInfo.getPhoto() == null)
+				throw new CustomException(ErrorCode.F201);
+
+			log.info("step7. appendLog ({})", idInfo);
+			// 로그 누적 idInfo
+			logging.appendLog(logPk, idInfo);
+
+			log.info("step8. checkIdInfoStatus ({})", idInfo);
+			// idInfo 신분상태 유효성 검사
+			validation.checkIdInfoStatus(idInfo);
+
+			PhotoRes photoRes = new PhotoRes();
+			photoRes.setPhotoHash(idInfo.getPhotoHash());
+
+			log.info("step9. matches (ifNoneMatch: {}, photoHash: {})", ifNoneMatch, idInfo.getPhotoHash());
+			// 클라이언트가 같은 사진을 가지고 있으면 사진 암호화, 전송 생략
+			SuccessCode sCode = SuccessCode.S00304;
+			if (!photoDelivery.matches(ifNoneMatch, idInfo.getPhotoHash())) {
+				log.info("step10. encryptPhoto (appKey: {})", idInfo.getAppKey());
+				// 사진은 appKey로 암호화
+				photoRes.setPhoto(crypto.encryptPhoto(idInfo.getPhoto(), idInfo.getAppKey()));
+				sCode = SuccessCode.S00000;
+			}
+
+			log.info("step11. createResVO<PhotoRes> (sCode: {}, sMsg: {}, {})", sCode, sCode.getDescription(), photoRes);
+			// resVO성공 객체 생성 (photoRes)
+			ResVO<PhotoRes> resVO = new ResVO<>(sCode.name(), sCode.getDescription(), photoRes);
+
+			log.info("step12. appendLog ({})", resVO);
+			// 로그 누적 resVO (사진은 로그에 남기지 않음)
+			logging.appendLog(logPk, resVO.getResultCode(), resVO.getResultMessage(), null);
+
+			log.info("step13. End : getPhotoRequest");
+			return resVO;
+
+		} catch (CustomException e) {
+			log.error("에러 : {}", e.getMessage(), e);
+			// 에러 로그갱신(에러정보)
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
+
+			throw e;
+		} catch (Exception e) {
+			log.error("기타 에러 : {}", e.getMessage(), e);
+			ErrorCode errorCode = ErrorCode.F901;
+			// 에러 로그갱신(에러정보)
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
+
+			throw new CustomException(errorCode);
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.inside.idmcs.api.id.regist.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,11 +15,15 @@ import com.inside.idmcs.api.common.model.dto.RequestInfo;
 import com.inside.idmcs.api.common.model.vo.req.IdRegistrationReqVO;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.IdInfoCache;
+import com.inside.idmcs.api.common.util.cache.InstitutionAndApplicationCache;
+import com.inside.idmcs.api.common.util.concurrent.ParallelTasks;
 import com.inside.idmcs.api.common.util.crypto.IdRegistrationCrypto;
+import com.inside.idmcs.api.common.util.fingerprint.IdInfoFingerprint;
 import com.inside.idmcs.api.common.util.logging.Logging;
 import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
 import com.inside.idmcs.api.common.util.validation.IdRegistrationValidation;
-import com.inside.idmcs.api.enc.pk.dao.PublicKeyDao;
 import com.inside.idmcs.api.id.check.service.IdCheckServiceImpl;
 import com.inside.idmcs.api.id.regist.dao.IdRegistrationDao;
 
@@ -29,32 +35,42 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class IdRegistrationServiceImpl implements IdRegistrationService {
 
-	private final PublicKeyDao publicKeyDao;
+	private final InstitutionAndApplicationCache instAndAppCache;
+	private final IdInfoCache idInfoCache;
 	private final IdRegistrationDao idRegistrationDao;
 	private final Logging logging;
 	private final Parser parser;
 	private final IdRegistrationValidation validation;
 	private final IdRegistrationCrypto crypto;
 	private final ApiCallService apiCallService;
+	private final ParallelTasks parallelTasks;
+	private final PhotoDelivery photoDelivery;
+	private final IdInfoFingerprint idInfoFingerprint;
 
 	public IdRegistrationServiceImpl(IdRegistrationDao idRegistrationDao, Logging logging, Parser parser,
-			PublicKeyDao publicKeyDao, IdRegistrationValidation validation, ApiCallService apiCallService,
-			IdRegistrationCrypto crypto, IdCheckServiceImpl idCheckService) {
-		this.publicKeyDao = publicKeyDao;
+			InstitutionAndApplicationCache instAndAppCache, IdRegistrationValidation validation, ApiCallService apiCallService,
+			IdRegistrationCrypto crypto, IdCheckServiceImpl idCheckService, IdInfoCache idInfoCache, ParallelTasks parallelTasks,
+			PhotoDelivery photoDelivery, IdInfoFingerprint idInfoFingerprint) {
+		this.instAndAppCache = instAndAppCache;
+		this.idInfoCache = idInfoCache;
 		this.idRegistrationDao = idRegistrationDao;
 		this.logging = logging;
 		this.parser = parser;
 		this.validation = validation;
 		this.crypto = crypto;
 		this.apiCallService = apiCallService;
+		this.parallelTasks = parallelTasks;
+		this.photoDelivery = photoDelivery;
+		this.idInfoFingerprint = idInfoFingerprint;
 	}
 	
 	/**
 	 * 신분 등록 요청을 처리하고 응답 데이터를 반환하는 메서드.
 	 *
 	 * 이 메서드는 주어진 IdRegistrationReqVO 요청 객체와 HTTP 요청 정보를 사용하여 
-	 * 신분 등록을 수행합니다. 과정 중 발생하는 각 단계에 대해 로그를 비동기적으로 저장하며, 
+	 * 신분 등록을 수행합니다. 과정 중 발생하는 각 단계에 대해 로그를 누적하며, 
 	 * 신분 정보가 유효하지 않은 경우 CustomException을 발생시킵니다. 성공 시 ResVO 객체를 반환합니다.
+	 * 등록여부 확인과 내부망 API 호출은 동시에 실행하며, 이미 등록된 경우 API 호출 결과는 취소합니다.
 	 *
 	 * @param reqVO 신분 등록을 위한 요청 데이터를 담고 있는 IdRegistrationReqVO 객체
 	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
@@ -77,21 +93,21 @@ public class IdRegistrationServiceImpl implements IdRegistrationService {
 			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
 			logPk = logging.createLogPrimaryKey();
 			
-			log.info("step3. saveLogAsync ({})", reqVO);
-			//로그 생성 비동기 : reqVO 정보
-			logging.saveLogAsync(logPk, reqVO);
+			log.info("step3. appendLog ({})", reqVO);
+			//로그 누적 : reqVO 정보
+			logging.appendLog(logPk, reqVO);
 			
 			log.info("step4. getRequestInfo ({})", request);
 			//RequestInfo 생성(url, ip 등 request 정보)
 			RequestInfo requestInfo = parser.getRequestInfo(request);
 			
-			log.info("step5. saveLogAsync ({})", requestInfo);
-			// 로그 생성 비동기 : requestInfo 정보
-			logging.saveLogAsync(logPk, requestInfo);
+			log.info("step5. appendLog ({})", requestInfo);
+			// 로그 누적 : requestInfo 정보
+			logging.appendLog(logPk, requestInfo);
 			
-			log.info("step6. selectInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(), reqVO.getApplicationToken());
-			// 기관앱정보 데이터베이서 select
-			InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao.selectInstAndAppInfo(
+			log.info("step6. getInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(), reqVO.getApplicationToken());
+			// 기관앱정보 조회 (캐시에 없으면 데이터베이스 select)
+			InstitutionAndApplicationInfo instAndAppInfo = instAndAppCache.get(
 					reqVO.getAgencyToken(), reqVO.getApplicationToken());
 			if(instAndAppInfo == null) {
 				log.error("기관앱정보 조회 실패 agencyToken: {}, applicationToken: {}", reqVO.getAgencyToken(), reqVO.getApplicationToken());
@@ -102,35 +118,45 @@ public class IdRegistrationServiceImpl implements IdRegistrationService {
 			// 기관앱정보 유효성 검사
 			validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
 			
-			log.info("step8. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 기관앱정보 비동기
-			logging.saveLogAsync(logPk, instAndAppInfo);
+			log.info("step8. appendLog ({})", instAndAppInfo);
+			// 로그 누적 기관앱정보
+			logging.appendLog(logPk, instAndAppInfo);
 			
 			log.info("step9. decryptReqVO ({})", reqVO);
 			// 신분등록ReqVO 데이터 복호화
-			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO,	instAndAppInfo.getPrivateKey());
+			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo);
 			
 			log.info("step10. isValid ({})", decryptReqVO);
 			//복호화된 IdCheckReqVO정보 유효성 검사
 			validation.isValid(decryptReqVO);
 	
-			log.info("step11. saveLogAsync ({})", decryptReqVO);
-			// 로그 갱신 reqVO 비동기
-			logging.saveLogAsync(logPk, decryptReqVO);
+			log.info("step11. appendLog ({})", decryptReqVO);
+			// 로그 누적 reqVO
+			logging.appendLog(logPk, decryptReqVO);
 			
 			log.info("step12. checkRegistrationStatus (ci: {})", decryptReqVO.getCi());
-			// 등록여부 확인
-			String status = idRegistrationDao.checkRegistrationStatus(decryptReqVO.getCi());
-			if (status != null && status.equals("Y")) 
-				throw new CustomException(ErrorCode.F200);
+			// 내부망 신분정보 api 호출은 CI만 필요하므로 등록여부 확인과 동시에 실행
+			String ci = decryptReqVO.getCi();
+			CompletableFuture<IdInfo> apiFuture = parallelTasks.fork(() -> apiCallService.apiGetIdInfo(ci));
+			
+			try {
+				// 등록여부 확인
+				String status = idRegistrationDao.checkRegistrationStatus(ci);
+				if (status != null && status.equals("Y")) 
+					throw new CustomException(ErrorCode.F200);
+			} catch (CustomException | RuntimeException e) {
+				// 등록 불가이면 api 호출 결과는 사용하지 않음
+				parallelTasks.cancel(apiFuture);
+				throw e;
+			}
 			
-			log.info("step13. apiGetIdInfo (ci: {})", decryptReqVO.getCi());
-			//내부망에서 신분정보 불러오는 api 호출
-			IdInfo idInfo = apiCallService.apiGetIdInfo(decryptReqVO.getCi());
+			log.info("step13. apiGetIdInfo (ci: {})", ci);
+			//내부망에서 신분정보 불러오는 api 호출 결과 대기
+			IdInfo idInfo = parallelTasks.join(apiFuture);
 			
-			log.info("step14. saveLogAsync ({})", idInfo);
-			// 로그 갱신 신분정보 비동기
-			logging.saveLogAsync(logPk, idInfo);
+			log.info("step14. appendLog ({})", idInfo);
+			// 로그 누적 신분정보
+			logging.appendLog(logPk, idInfo);
 			
 			log.info("step15. isValid ({})", idInfo);
 			//신분정보 유효성검사
@@ -141,6 +167,9 @@ public class IdRegistrationServiceImpl implements IdRegistrationService {
 			validation.checkUseIdInfo(decryptReqVO, idInfo, instAndAppInfo.getInstNm());
 			
 			log.info("step17. saveIdInfo ({})", idInfo);
+			// 신분정보, 사진 지문 (첫 신분 확인 시 변경 없으면 저장 생략)
+			idInfo.setSyncHash(idInfoFingerprint.createSyncHash(idInfo));
+			idInfo.setPhotoHash(photoDelivery.hash(idInfo.getPhoto()));
 			//신분정보 직원데이터베이스에 인설트 
 			if(idRegistrationDao.saveIdInfo(idInfo) == 0) 
 				throw new CustomException(ErrorCode.F801, ErrorCode.F801.formatMessage("신분등록 실패(saveIdInfo)"));
@@ -150,15 +179,18 @@ public class IdRegistrationServiceImpl implements IdRegistrationService {
 			if(idInfo.getPhoto() != null) 
 				idRegistrationDao.savePhoto(idInfo);
 			
+			// 신분정보 캐시 제거 (재가입 시 이전 정보 제거)
+			idInfoCache.evict(idInfo.getUserId(), decryptReqVO.getCi());
+			
 			SuccessCode sCode = SuccessCode.S00000;
 			
 			log.info("step19. createResVO<> (sCode: {}, sMsg: {})", sCode.name(), sCode.getDescription());
 			// resVO성공 객체 생성 ()
 			ResVO<T> resVO = new ResVO<>(sCode.name(), sCode.getDescription());
 			
-			log.info("step20. saveLogAsync ({})", resVO);
-			// 로그갱신 resVO 비동기
-			logging.saveLogAsync(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
+			log.info("step20. appendLog ({})", resVO);
+			// 로그 누적 resVO
+			logging.appendLog(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
 			
 			log.info("step21. End : registIdRequest");
 			return resVO;
@@ -166,14 +198,14 @@ public class IdRegistrationServiceImpl implements IdRegistrationService {
 		} catch (CustomException e) {
 			log.error("에러 : {}", e.getMessage(), e);
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, e.getErrorCode().name(), e.getMessage(), null);
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
 
 			throw e;
 		} catch (Exception e) {
 			log.error("기타 에러 : {}", e.getMessage(), e);
 			ErrorCode errorCode = ErrorCode.F901;
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, errorCode.name(), errorCode.getDescription(), null);
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
 			
 			throw new CustomException(errorCode);
 		}
@@ -5,7 +5,6 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
@@ -18,14 +17,16 @@ import com.inside.idmcs.api.common.model.vo.req.QRCheckReqVO;
 import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.model.vo.res.QRCheckRes;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.IdInfoCache;
+import com.inside.idmcs.api.common.util.cache.InstitutionAndApplicationCache;
 import com.inside.idmcs.api.common.util.crypto.QRCheckCrypto;
 import com.inside.idmcs.api.common.util.logging.Logging;
 import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.photo.PhotoDelivery;
 import com.inside.idmcs.api.common.util.qr.QR;
+import com.inside.idmcs.api.common.util.qr.QRHistoryWriter;
+import com.inside.idmcs.api.common.util.qr.QRNonceStore;
 import com.inside.idmcs.api.common.util.validation.QRCheckValidation;
-import com.inside.idmcs.api.enc.pk.dao.PublicKeyDao;
-import com.inside.idmcs.api.id.check.dao.IdCheckDao;
-import com.inside.idmcs.api.qr.history.dao.QRHistoryDao;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -35,26 +36,31 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class QRCheckServiceImpl implements QRCheckService {
 	
-	private final PublicKeyDao publicKeyDao;
-	private final IdCheckDao idCheckDao;
+	private final InstitutionAndApplicationCache instAndAppCache;
+	private final IdInfoCache idInfoCache;
 	private final Logging logging;
 	private final Parser parser;
 	private final QRCheckValidation validation;
 	private final QRCheckCrypto crypto;
 	private final QR qr;
-	private final QRHistoryDao qRHistoryDao;
+	private final QRNonceStore qrNonceStore;
+	private final QRHistoryWriter qRHistoryWriter;
+	private final PhotoDelivery photoDelivery;
 
-	public QRCheckServiceImpl(IdCheckDao idCheckDao, Logging logging, Parser parser,
-			PublicKeyDao publicKeyDao, QRCheckValidation validation,
-			QRCheckCrypto crypto, QR qr, QRHistoryDao qRHistoryDao) {
-		this.idCheckDao = idCheckDao;
+	public QRCheckServiceImpl(IdInfoCache idInfoCache, Logging logging, Parser parser,
+			InstitutionAndApplicationCache instAndAppCache, QRCheckValidation validation,
+			QRCheckCrypto crypto, QR qr, QRNonceStore qrNonceStore, QRHistoryWriter qRHistoryWriter,
+			PhotoDelivery photoDelivery) {
+		this.idInfoCache = idInfoCache;
 		this.logging = logging;
 		this.parser = parser;
-		this.publicKeyDao = publicKeyDao;
+		this.instAndAppCache = instAndAppCache;
 		this.validation = validation;
 		this.crypto = crypto;
 		this.qr = qr;
-		this.qRHistoryDao = qRHistoryDao;
+		this.qrNonceStore = qrNonceStore;
+		this.qRHistoryWriter = qRHistoryWriter;
+		this.photoDelivery = photoDelivery;
 	}
 	
 	// application.properties 파일에서 encryption.enabled 값을 읽어옴
@@ -69,7 +75,7 @@ public class QRCheckServiceImpl implements QRCheckService {
 	 * QR 코드 검증 요청을 처리하고 응답 데이터를 반환하는 메서드.
 	 *
 	 * 이 메서드는 주어진 QRCheckReqVO 요청 객체와 HTTP 요청 정보를 사용하여 
-	 * QR 코드 검증을 수행합니다. 각 단계에서 로그를 비동기적으로 저장하며, 
+	 * QR 코드 검증을 수행합니다. 각 단계에서 로그를 누적하며, 
 	 * 검증된 QR 코드와 관련된 신분 정보를 반환합니다. 
 	 * 오류가 발생할 경우 CustomException을 발생시킵니다.
 	 *
@@ -80,141 +86,210 @@ public class QRCheckServiceImpl implements QRCheckService {
 	 * @throws CustomException 다음과 같은 경우 예외를 발생시킴:
 	 *                         - F104: 유효하지 않은 기관 또는 앱 정보
 	 *                         - F201: 신분 정보가 존재하지 않음 (미가입 사용자)
-	 *                         - F499: QR 코드 이력 업데이트 실패
+	 *                         - F405: 유효기간 내 이미 검증된 QR 코드 (재사용)
+	 *                         - F499: QR 코드 이력 기록 실패
 	 *                         - F901: 예상치 못한 시스템 오류 발생
 	 */
-	@Transactional
 	@Override
 	public <T> ResVO<T> checkQRRequest(@Valid QRCheckReqVO reqVO, HttpServletRequest request) throws CustomException {
 		
 		log.info("step1. start : checkQRRequest");
 		String logPk = "";
 		QRHistory qrHist = new QRHistory();
+		Map<String, String> qrMap = null;
+		boolean nonceMarked = false;
 		
 		try {
 			log.info("step2. createLogPrimaryKey");
 			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
 			logPk = logging.createLogPrimaryKey();
 
-			log.info("step3. saveLogAsync ({})", reqVO);
-			// 로그 생성 비동기 : reqVO 정보
-			logging.saveLogAsync(logPk, reqVO);
+			log.info("step3. appendLog ({})", reqVO);
+			// 로그 누적 : reqVO 정보
+			logging.appendLog(logPk, reqVO);
 
 			log.info("step4. getRequestInfo ({})", request);
 			//RequestInfo 생성(url, ip 등 request 정보)
 			RequestInfo requestInfo = parser.getRequestInfo(request);
 
-			log.info("step5. saveLogAsync ({})", requestInfo);
-			// 로그 생성 비동기 : requestInfo 정보
-			logging.saveLogAsync(logPk, requestInfo);
+			log.info("step5. appendLog ({})", requestInfo);
+			// 로그 누적 : requestInfo 정보
+			logging.appendLog(logPk, requestInfo);
 			
-			log.info("step6. selectInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
+			log.info("step6. decodeQRcode ({}, qrType: {})", reqVO.getQrCd(), reqVO.getQrType());
+			// QR코드 내용 해석 및 서명 검증 (TEXT 형식은 이미지 해석 없이 내용만 검증)
+			// 위조된 QR코드는 데이터베이스 조회, 복호화 전에 거부
+			qrMap = qr.decodeQRcode(reqVO.getQrCd(), reqVO.getQrType());
+			
+			//qrHist에 유저아이디 정보 담기 (유효기간 만료로 거부되어도 실패 이력에 남김)
+			qrHist.setEmpId(qrMap.get("userId"));
+			
+			log.info("step7. isValid ({})", qrMap);
+			//QR코드 유효기간 만료 검사 (밀리초 단위)
+			validation.isValid(qrMap, qRSec + qRMarginSec);
+			
+			log.info("step8. getInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
 					reqVO.getApplicationToken());
-			// 기관앱정보 데이터베이서 select
-			InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao.selectInstAndAppInfo(reqVO.getAgencyToken(), reqVO.getApplicationToken());
+			// 기관앱정보 조회 (캐시에 없으면 데이터베이스 select)
+			InstitutionAndApplicationInfo instAndAppInfo = instAndAppCache.get(reqVO.getAgencyToken(), reqVO.getApplicationToken());
 			if (instAndAppInfo == null) 
 				throw new CustomException(ErrorCode.F104);
 			
-			log.info("step7. inputDataToQRHistory (qrCd: {}, instAndAppInfo: {}", reqVO.getQrCd(), instAndAppInfo);
+			log.info("step9. inputDataToQRHistory (qrCd: {}, instAndAppInfo: {}", reqVO.getQrCd(), instAndAppInfo);
 			qrHist = inputDataToQRHistory(qrHist, reqVO.getQrCd(), instAndAppInfo);
 			
-			log.info("step8. insertQRHistory");
-			qRHistoryDao.insertQRHistory(qrHist);
-			
-			log.info("step9. isValid ({}, ip: {}, url: {})", instAndAppInfo, requestInfo.getReqIp(),
+			log.info("step10. isValid ({}, ip: {}, url: {})", instAndAppInfo, requestInfo.getReqIp(),
 					requestInfo.getReqUrl());
 			// 기관앱정보 유효성 검사
 			validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
 
-			log.info("step10. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 기관앱정보 비동기
-			logging.saveLogAsync(logPk, instAndAppInfo);
+			log.info("step11. appendLog ({})", instAndAppInfo);
+			// 로그 누적 기관앱정보
+			logging.appendLog(logPk, instAndAppInfo);
 
-			log.info("step11. decryptReqVO ({})", reqVO);
+			log.info("step12. decryptReqVO ({})", reqVO);
 			// 신분등록ReqVO 데이터 복호화
-			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo.getPrivateKey());
+			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo);
 
-			log.info("step12. isValid ({})", decryptReqVO);
+			log.info("step13. isValid ({})", decryptReqVO);
 			// 복호화된 IdCheckReqVO정보 유효성 검사
 			validation.isValid(decryptReqVO);
 
-			log.info("step13. saveLogAsync ({})", decryptReqVO);
-			// 로그 갱신 reqVO 비동기
-			logging.saveLogAsync(logPk, decryptReqVO);
-			
-			log.info("step14. decodeQRcode ({})", decryptReqVO.getQrCd());
-			// QR코드 내용 해석 
-			Map<String, String> qrMap = qr.decodeQRcode(decryptReqVO.getQrCd());
-			
-			//qrHist에 유저아이디 정보 담기
-			qrHist.setEmpId(qrMap.get("userId"));
+			log.info("step14. appendLog ({})", decryptReqVO);
+			// 로그 누적 reqVO
+			logging.appendLog(logPk, decryptReqVO);
 			
-			log.info("step15. isValid ({})", qrMap);
-			//QR코드 유효기간 만료 검사
-			validation.isValid(qrMap, qRSec + qRMarginSec);
+			log.info("step15. markIfAbsent (nonce: {})", qrMap.get("nonce"));
+			//QR코드 재사용 검사 (유효기간 내 이미 검증된 nonce면 거부)
+			//기관앱 인증, 요청 검증을 통과한 요청만 nonce를 등록하여 인증되지 않은 요청이 nonce를 소진하지 못하도록 함
+			if (!qrNonceStore.markIfAbsent(qrMap.get("nonce"), Long.parseLong(qrMap.get("issuedMillis"))))
+				throw new CustomException(ErrorCode.F405);
+			nonceMarked = true;
 			
 			log.info("step16. selectIdInfoWithQR ({})", qrHist.getEmpId());
 			// 직원정보 가져오기
-			IdInfo idInfo = idCheckDao.selectIdInfoWithUserId(qrHist.getEmpId());
+			IdInfo idInfo = idInfoCache.getWithUserId(qrHist.getEmpId());
 			if (idInfo == null) 
 				throw new CustomException(ErrorCode.F201);
 			
-			log.info("step17. saveLogAsync ({})", idInfo);
-			// 로그 갱신 idInfo 비동기
-			logging.saveLogAsync(logPk, idInfo);
+			log.info("step17. appendLog ({})", idInfo);
+			// 로그 누적 idInfo
+			logging.appendLog(logPk, idInfo);
 			
 			log.info("step18. checkIdInfoStatus ({})", idInfo);
 			// idInfo 신분상태 유효성 검사
 			validation.checkIdInfoStatus(idInfo);
 			
-			log.info("step19. encryptIdInfo ({}, appKey: {}, encKey: {})", idInfo, idInfo.getAppKey(), decryptReqVO.getEncKey());
+			log.info("step19. createPhotoToken (userId: {}, photoHash: {})", idInfo.getUserId(), idInfo.getPhotoHash());
+			// 사진은 사진 조회 API로 따로 전달 (응답에는 사진 해시와 사진 조회 토큰만 담고 사진 암호화 생략)
+			String photoToken = idInfo.getPhotoHash() != null ? photoDelivery.createToken(idInfo.getUserId()) : null;
+			if (!photoDelivery.isInlineEnabled())
+				idInfo.setPhoto(null);
+			
+			log.info("step20. encryptIdInfo ({}, appKey: {}, encKey: {})", idInfo, idInfo.getAppKey(), decryptReqVO.getEncKey());
 			//idInfo 중 resVO로 전달해야하는 데이터 id정보는 appkey로 암호화, 앱키 단말정보는 encKey로 암호화
 			idInfo = crypto.encryptIdInfo(idInfo, idInfo.getAppKey(), decryptReqVO.getEncKey());
 			
-			log.info("step20. updateQRHistorySuccess ({})", qrHist);
-			if (qRHistoryDao.updateQRHistorySuccess(qrHist) == 0) 
+			log.info("step21. recordQRHistory ({})", qrHist);
+			//QR 이력 성공 기록 (검증 결과를 모아 한 번만 insert)
+			qrHist.setCheckRes("S");
+			if (qRHistoryWriter.record(qrHist) == 0) 
 				throw new CustomException(ErrorCode.F499);
 			
-			log.info("step21. createIdInfoRes ({})", idInfo);
+			log.info("step22. createIdInfoRes ({})", idInfo);
 			//QRCheckRes객체 생성 
-			QRCheckRes qRCheckRes = createIdInfoRes(idInfo);
+			QRCheckRes qRCheckRes = createIdInfoRes(idInfo, photoToken);
 			
 			SuccessCode sCode = SuccessCode.S00000;
 			
-			log.info("step22. createResVO<QRCheckRes> (sCode: {}, sMsg: {}, {})", sCode, sCode.getDescription(), qRCheckRes);
+			log.info("step23. createResVO<QRCheckRes> (sCode: {}, sMsg: {}, {})", sCode, sCode.getDescription(), qRCheckRes);
 			// resVO성공 객체 생성 (idInfoRes)
 			@SuppressWarnings("unchecked")
 			ResVO<T> resVO = (ResVO<T>) new ResVO<QRCheckRes>(sCode.name(), sCode.getDescription(), qRCheckRes);
 			
-			log.info("step23. saveLogAsync ({})", resVO);
-			// 로그갱신 resVO 비동기
-			logging.saveLogAsync(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
+			log.info("step24. appendLog ({})", resVO);
+			// 로그 누적 resVO
+			logging.appendLog(logPk, resVO.getResultCode(), resVO.getResultMessage(), parser.toJson(resVO));
 			
-			log.info("step24. End : checkQRRequest");
+			log.info("step25. End : checkQRRequest");
 			return resVO;
 			
 		} catch (CustomException e) {
 			log.error("에러 : {}", e.getMessage(), e);
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, e.getErrorCode().name(), e.getMessage(), null);
-			qRHistoryDao.updateQRHistoryFail(qrHist);
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
+			// QR 이력 실패 기록 (QR 코드 해석, 서명, 유효기간 단계에서 거부된 요청 포함)
+			recordQRHistoryFail(qrHist, reqVO);
+			releaseNonce(nonceMarked, qrMap, qrHist);
 			
 			throw e;
 		} catch (SQLException e) {
 			log.error("sql 에러 : {}", e.getMessage(), e);
+			releaseNonce(nonceMarked, qrMap, qrHist);
 			
 			throw new CustomException(ErrorCode.F801, ErrorCode.F801.formatMessage("sql에러"));
 		} catch (Exception e) {
 			log.error("기타 에러 : {}", e.getMessage(), e);
 			ErrorCode errorCode = ErrorCode.F901;
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, errorCode.name(), errorCode.getDescription(), null);
-			qRHistoryDao.updateQRHistoryFail(qrHist);
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
+			recordQRHistoryFail(qrHist, reqVO);
+			releaseNonce(nonceMarked, qrMap, qrHist);
 
 			throw new CustomException(errorCode);
 		}
 	}
 
+	/**
+	 * 검증이 성공으로 기록되기 전에 실패한 요청의 nonce를 제거하는 메서드.
+	 *
+	 * 일시적인 오류로 실패한 경우 같은 QR 코드로 다시 검증할 수 있도록 합니다.
+	 * 성공으로 기록된 QR 코드는 이후 단계가 실패하더라도 nonce를 유지합니다.
+	 *
+	 * @param nonceMarked 이 요청에서 nonce를 등록했는지 여부
+	 * @param qrMap QR 코드 내용 (nonce, 발행시간)
+	 * @param qrHist QR 이력 (성공 기록 여부 확인)
+	 */
+	private void releaseNonce(boolean nonceMarked, Map<String, String> qrMap, QRHistory qrHist) {
+		
+		if (!nonceMarked || "S".equals(qrHist.getCheckRes()))
+			return;
+		
+		qrNonceStore.release(qrMap.get("nonce"), Long.parseLong(qrMap.get("issuedMillis")));
+	}
+
+	/**
+	 * QR 이력 실패를 기록하는 메서드.
+	 *
+	 * QR 코드 해석, 서명, 유효기간 검사는 기관앱정보 조회 전에 수행하므로 해당 단계에서 거부된 경우
+	 * 요청의 기관, 앱 토큰으로 기관앱정보를 조회(캐시)하여 이력을 채운 뒤 기록합니다.
+	 * 기관앱정보가 없는 요청(F104)과 이미 성공으로 기록된 이력은 기록하지 않습니다.
+	 * 기록 중 오류는 원래 오류를 가리지 않도록 로그만 남깁니다.
+	 *
+	 * @param qrHist 실패로 기록할 QRHistory 객체
+	 * @param reqVO QR 코드 검증 요청 (기관, 앱 토큰, QR 코드)
+	 */
+	private void recordQRHistoryFail(QRHistory qrHist, QRCheckReqVO reqVO) {
+		
+		if (qrHist.getCheckRes() != null)
+			return;
+		
+		try {
+			if (qrHist.getAppNo() == 0) {
+				InstitutionAndApplicationInfo instAndAppInfo = instAndAppCache.get(reqVO.getAgencyToken(),
+						reqVO.getApplicationToken());
+				if (instAndAppInfo == null)
+					return;
+				inputDataToQRHistory(qrHist, reqVO.getQrCd(), instAndAppInfo);
+			}
+			
+			qrHist.setCheckRes("F");
+			qRHistoryWriter.record(qrHist);
+		} catch (Exception e) {
+			log.error("QR 이력 실패 기록 오류 : {}", e.getMessage(), e);
+		}
+	}
+	
 	/**
 	 * QR 코드와 앱 번호를 사용하여 QRHistory 객체에 데이터를 설정하는 메서드.
 	 *
@@ -236,10 +311,11 @@ public class QRCheckServiceImpl implements QRCheckService {
 	 * IdInfo 객체를 기반으로 QRCheckRes 응답 객체를 생성하는 메서드.
 	 *
 	 * @param idInfo 신분 정보가 담긴 IdInfo 객체
+	 * @param photoToken 사진 조회 토큰 (사진이 없으면 null)
 	 * @return 생성된 QRCheckRes 응답 객체
 	 * @throws Exception 신분 정보 응답 객체 생성 실패 시 예외를 발생시킴
 	 */
-	private QRCheckRes createIdInfoRes(IdInfo idInfo) throws Exception {
+	private QRCheckRes createIdInfoRes(IdInfo idInfo, String photoToken) throws Exception {
 		
 		try {
 			QRCheckRes qRCheckRes = new QRCheckRes();
@@ -251,6 +327,8 @@ public class QRCheckServiceImpl implements QRCheckService {
 			qRCheckRes.setAddress(idInfo.getAddress());
 			qRCheckRes.setDetailAddress(idInfo.getDetailAddress());
 			qRCheckRes.setPhoto(idInfo.getPhoto());
+			qRCheckRes.setPhotoHash(idInfo.getPhotoHash());
+			qRCheckRes.setPhotoToken(photoToken);
 			qRCheckRes.setIssuOrgName(idInfo.getIssuedInstNm());
 			qRCheckRes.setAppKey(idInfo.getAppKey());
 			qRCheckRes.setDeviceInfo(idInfo.getDeviceInfo());
@@ -1,10 +1,16 @@
 package com.inside.idmcs.api.qr.history.controller;
 
+import java.io.IOException;
+
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.inside.idmcs.api.common.error.CustomException;
 import com.inside.idmcs.api.common.error.ErrorCode;
@@ -13,6 +19,7 @@ import com.inside.idmcs.api.common.model.vo.res.ResVO;
 import com.inside.idmcs.api.qr.history.service.QRHistoryService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,9 +28,11 @@ import lombok.extern.slf4j.Slf4j;
 public class QRHistoryContoller {
 	
 	private QRHistoryService qRHistoryService;
+	private ObjectMapper objectMapper;
 
-	public QRHistoryContoller (QRHistoryService qRHistoryService) {
+	public QRHistoryContoller (QRHistoryService qRHistoryService, ObjectMapper objectMapper) {
 		this.qRHistoryService = qRHistoryService;
+		this.objectMapper = objectMapper;
 	}
 	
 	/**
@@ -62,4 +71,49 @@ public class QRHistoryContoller {
 			return new ResponseEntity<>(resVO, HttpStatus.OK);
 		}
 	}
+	
+	/**
+	 * QR 코드 이력 내보내기 요청을 처리하는 API 엔드포인트.
+	 *
+	 * 이 메서드는 조회 조건에 맞는 QR 코드 이력 전체를 NDJSON(기본값) 또는 CSV 형식으로 응답 본문에 스트리밍합니다.
+	 * 기록을 시작하기 전에 오류가 발생하면 selectQRHistory와 같은 형식의 ResVO 오류 응답을 반환합니다.
+	 *
+	 * @param reqVO QR 코드 이력을 조회하기 위한 요청 데이터를 담고 있는 QRHistoryReqVO 객체
+	 * @param format 내보내기 형식 (ndjson, csv)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @param response 이력을 기록할 HttpServletResponse 객체
+	 * @throws IOException 오류 응답 기록 중 오류가 발생할 경우
+	 */
+	@PostMapping("/api/idv/qr/hist/export")
+	public void exportQRHistory(@Valid @RequestBody QRHistoryReqVO reqVO,
+			@RequestParam(value = "format", defaultValue = "ndjson") String format, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		
+		try {
+			qRHistoryService.exportQRHistory(reqVO, format, request, response);
+			
+		} catch (CustomException e) {
+			writeError(response, new ResVO<>(e.getErrorCode().name(), e.getMessage()));
+		} catch (Exception e) {
+			// 서비스에서 예상하지 못한 오류 예외 처리
+			log.error("알 수 없는 오류 : {}", e.getMessage(), e);
+			ErrorCode errorCode = ErrorCode.F901;
+			writeError(response, new ResVO<>(errorCode.name(), errorCode.getDescription()));
+		}
+	}
+	
+	// 스트리밍 시작 전이면 ResVO 오류 응답 기록 (이미 기록 중이면 중단된 응답으로 끝남)
+	private void writeError(HttpServletResponse response, ResVO<?> resVO) throws IOException {
+		
+		if (response.isCommitted()) {
+			log.error("내보내기 중 오류, 응답 중단 : {}", resVO.getResultCode());
+			return;
+		}
+		
+		response.reset();
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		objectMapper.writeValue(response.getOutputStream(), resVO);
+	}
 }
@@ -3,6 +3,7 @@ package com.inside.idmcs.api.qr.history.dao;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.inside.idmcs.api.common.model.dto.InstitutionAndApplicationInfo;
 import com.inside.idmcs.api.common.model.dto.PageInfo;
@@ -19,42 +20,43 @@ public interface QRHistoryDao {
 	 * 주어진 요청 정보를 기반으로 QR 코드 이력의 개수를 조회하는 메서드.
 	 *
 	 * @param reqVO 조회 조건이 담긴 ReqVO 객체
-	 * @param appNo 애플리케이션 번호
+	 * @param instAndAppInfo 기관앱정보 (조회 범위가 APP인 경우 앱 번호 사용)
+	 * @param empId 조회할 직원 아이디 (CI로 조회한 신분정보의 userId)
 	 * @return 해당 조건에 맞는 QR 코드 이력의 개수
 	 */
-	int getCountHistoryQR(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo);
+	int getCountHistoryQR(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo, String empId);
 
 	/**
 	 * 주어진 요청 정보를 기반으로 QR 코드 이력 목록을 조회하는 메서드.
 	 *
 	 * @param reqVO 조회 조건이 담긴 ReqVO 객체
 	 * @param pageInfo 페이징 정보가 담긴 PageInfo 객체
+	 * @param instAndAppInfo 기관앱정보 (조회 범위가 APP인 경우 앱 번호 사용)
+	 * @param empId 조회할 직원 아이디 (CI로 조회한 신분정보의 userId)
 	 * @return QRCheckHistory 객체의 리스트
 	 */
-	List<QRCheckHistory> selectQRHistoryList(ReqVO reqVO, PageInfo pageInfo, InstitutionAndApplicationInfo instAndAppInfo);
+	List<QRCheckHistory> selectQRHistoryList(ReqVO reqVO, PageInfo pageInfo, InstitutionAndApplicationInfo instAndAppInfo,
+			String empId);
 
 	/**
-	 * QR 코드 이력을 데이터베이스에 삽입하는 메서드.
+	 * 주어진 요청 정보를 기반으로 QR 코드 이력 전체를 한 행씩 조회하여 ResultHandler에 전달하는 메서드.
 	 *
-	 * @param qrHist 삽입할 QRHistory 객체
-	 * @return 삽입된 이력의 기본 키 (성공 시, 실패 시 0)
-	 */
-	long insertQRHistory(QRHistory qrHist);
-
-	/**
-	 * QR 코드 이력의 상태를 성공으로 업데이트하는 메서드.
+	 * 목록을 만들지 않고 fetchSize 단위로 나누어 읽습니다. (내보내기용)
 	 *
-	 * @param qrHist 업데이트할 QRHistory 객체
-	 * @return 업데이트된 행의 개수 (성공 시 1, 실패 시 0)
+	 * @param reqVO 조회 조건이 담긴 ReqVO 객체
+	 * @param instAndAppInfo 기관앱정보 (조회 범위가 APP인 경우 앱 번호 사용)
+	 * @param empId 조회할 직원 아이디 (CI로 조회한 신분정보의 userId)
+	 * @param resultHandler 조회된 이력을 한 건씩 처리할 ResultHandler
 	 */
-	int updateQRHistorySuccess(QRHistory qrHist);
-	
+	void exportQRHistoryList(ReqVO reqVO, InstitutionAndApplicationInfo instAndAppInfo, String empId,
+			ResultHandler<QRCheckHistory> resultHandler);
+
 	/**
-	 * QR 코드 이력의 상태를 실패로 업데이트하는 메서드.
+	 * QR 코드 검증 결과(성공/실패, 사용자 아이디, 검증 시각)를 포함한 이력을 한 번에 삽입하는 메서드.
 	 *
-	 * @param qrHist 업데이트할 QRHistory 객체
-	 * @return 업데이트된 행의 개수 (성공 시 1, 실패 시 0)
+	 * @param qrHist 삽입할 QRHistory 객체
+	 * @return 삽입된 행의 개수 (성공 시 1, 실패 시 0)
 	 */
-	int updateQRHistoryFail(QRHistory qrHist);
+	int insertQRHistory(QRHistory qrHist);
 
 }
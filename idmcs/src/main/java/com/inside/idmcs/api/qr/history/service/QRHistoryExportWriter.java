@@ -0,0 +1,104 @@
+package com.inside.idmcs.api.qr.history.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inside.idmcs.api.common.model.vo.res.QRCheckHistory;
+
+/**
+ * 조회된 QR 이력을 한 건씩 응답 스트림에 기록하는 ResultHandler.
+ *
+ * 목록을 만들지 않고 MyBatis가 한 행을 읽을 때마다 NDJSON(한 줄에 JSON 하나) 또는 CSV 한 줄로 바로 기록하므로
+ * 조회 기간과 관계없이 메모리 사용량이 일정합니다.
+ */
+class QRHistoryExportWriter implements ResultHandler<QRCheckHistory> {
+
+	// 내보내기 형식
+	static final String FORMAT_NDJSON = "ndjson";
+	static final String FORMAT_CSV = "csv";
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Writer writer;
+	private final boolean csv;
+	private long count;
+
+	QRHistoryExportWriter(OutputStream outputStream, String format) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+		this.csv = FORMAT_CSV.equals(format);
+
+		// CSV 헤더
+		if (csv)
+			writer.write("checkResult,checkDt,qrCd\n");
+	}
+
+	/**
+	 * 내보내기 형식에 맞는 Content-Type을 반환하는 메서드.
+	 *
+	 * @param format 내보내기 형식 (ndjson, csv)
+	 * @return Content-Type 문자열
+	 */
+	static String contentType(String format) {
+		return FORMAT_CSV.equals(format) ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8";
+	}
+
+	/**
+	 * 조회된 QR 이력 한 건을 기록하는 메서드.
+	 *
+	 * @param context 조회된 QR 이력 한 건을 담은 ResultContext
+	 */
+	@Override
+	public void handleResult(ResultContext<? extends QRCheckHistory> context) {
+
+		QRCheckHistory history = context.getResultObject();
+		try {
+			if (csv) {
+				writer.write(escapeCsv(history.getCheckResult()));
+				writer.write(',');
+				writer.write(escapeCsv(history.getCheckDt()));
+				writer.write(',');
+				writer.write(escapeCsv(history.getQrCd()));
+			} else {
+				writer.write(objectMapper.writeValueAsString(history));
+			}
+			writer.write('\n');
+			count++;
+		} catch (IOException e) {
+			// 클라이언트 연결 종료 등, 조회를 중단하기 위해 예외 전달
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 남은 버퍼를 응답 스트림으로 내보내는 메서드.
+	 *
+	 * @throws IOException 기록 중 오류가 발생할 경우
+	 */
+	void flush() throws IOException {
+		writer.flush();
+	}
+
+	long getCount() {
+		return count;
+	}
+
+	// CSV 값 이스케이프 (쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감쌈)
+	private static String escapeCsv(String value) {
+
+		if (value == null)
+			return "";
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+			return value;
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
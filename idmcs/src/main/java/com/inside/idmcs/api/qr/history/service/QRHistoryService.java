@@ -5,6 +5,7 @@ import com.inside.idmcs.api.common.model.vo.req.QRHistoryReqVO;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 public interface QRHistoryService {
@@ -24,4 +25,20 @@ public interface QRHistoryService {
 	 */
 	<T> ResVO<T> selectQRHistory(@Valid QRHistoryReqVO reqVO, HttpServletRequest request) throws CustomException;
 
+	/**
+	 * QR 코드 이력 내보내기 요청을 처리하고 조회 기간 전체 이력을 응답 스트림에 기록하는 메서드.
+	 *
+	 * 페이지 단위로 나누지 않고 조건에 맞는 이력 전체를 NDJSON 또는 CSV 형식으로 스트리밍합니다.
+	 * 기록을 시작하기 전에 오류가 발생하면 CustomException을 던집니다.
+	 *
+	 * @param reqVO QR 코드 이력 조회를 위한 요청 데이터를 담고 있는 QRHistoryReqVO 객체 (페이지 정보는 사용하지 않음)
+	 * @param format 내보내기 형식 (ndjson, csv)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @param response 이력을 기록할 HttpServletResponse 객체
+	 * @return 기록된 이력 건수
+	 * @throws CustomException QR 코드 이력 내보내기 과정에서 오류가 발생할 경우 발생하는 예외
+	 */
+	long exportQRHistory(@Valid QRHistoryReqVO reqVO, String format, HttpServletRequest request,
+			HttpServletResponse response) throws CustomException;
+
 }
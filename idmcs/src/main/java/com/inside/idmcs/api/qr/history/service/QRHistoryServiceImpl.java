@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.inside.idmcs.api.ApiCallService;
 import com.inside.idmcs.api.common.error.CustomException;
@@ -18,15 +19,17 @@ import com.inside.idmcs.api.common.model.vo.req.ReqVO;
 import com.inside.idmcs.api.common.model.vo.res.QRCheckHistory;
 import com.inside.idmcs.api.common.model.vo.res.QRHistoryRes;
 import com.inside.idmcs.api.common.model.vo.res.ResVO;
+import com.inside.idmcs.api.common.util.cache.IdInfoCache;
+import com.inside.idmcs.api.common.util.cache.InstitutionAndApplicationCache;
+import com.inside.idmcs.api.common.util.cache.QRHistoryCountCache;
 import com.inside.idmcs.api.common.util.crypto.QRHistoryCrypto;
 import com.inside.idmcs.api.common.util.logging.Logging;
 import com.inside.idmcs.api.common.util.parser.Parser;
 import com.inside.idmcs.api.common.util.validation.QRHistoryValidation;
-import com.inside.idmcs.api.enc.pk.dao.PublicKeyDao;
-import com.inside.idmcs.api.id.check.dao.IdCheckDao;
 import com.inside.idmcs.api.qr.history.dao.QRHistoryDao;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,26 +37,33 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class QRHistoryServiceImpl implements QRHistoryService {
 	
-	private final PublicKeyDao publicKeyDao;
+	private final InstitutionAndApplicationCache instAndAppCache;
 	private final QRHistoryDao qRHistoryDao;
+	private final QRHistoryCountCache qRHistoryCountCache;
 	private final Logging logging;
 	private final Parser parser;
 	private final QRHistoryValidation validation;
 	private final QRHistoryCrypto crypto;
 	private final ApiCallService apiCallService;
-	private final IdCheckDao idCheckDao;
+	private final IdInfoCache idInfoCache;
+	private final TransactionTemplate readOnlyTransactionTemplate;
 
 	public QRHistoryServiceImpl(Logging logging, Parser parser, QRHistoryDao qRHistoryDao,
-			PublicKeyDao publicKeyDao, QRHistoryValidation validation,
-			QRHistoryCrypto crypto, ApiCallService apiCallService, IdCheckDao idCheckDao) {
+			InstitutionAndApplicationCache instAndAppCache, QRHistoryValidation validation,
+			QRHistoryCrypto crypto, ApiCallService apiCallService, IdInfoCache idInfoCache,
+			QRHistoryCountCache qRHistoryCountCache, TransactionTemplate transactionTemplate) {
 		this.logging = logging;
 		this.parser = parser;
-		this.publicKeyDao = publicKeyDao;
+		this.instAndAppCache = instAndAppCache;
 		this.qRHistoryDao = qRHistoryDao;
 		this.validation = validation;
 		this.crypto = crypto;
 		this.apiCallService = apiCallService;
-		this.idCheckDao = idCheckDao;
+		this.idInfoCache = idInfoCache;
+		this.qRHistoryCountCache = qRHistoryCountCache;
+		// 내보내기 조회용 읽기 전용 트랜잭션
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.readOnlyTransactionTemplate.setReadOnly(true);
 	}
 	
 	
@@ -61,7 +71,7 @@ public class QRHistoryServiceImpl implements QRHistoryService {
 	 * QR 코드 이력 조회 요청을 처리하고 응답 데이터를 반환하는 메서드.
 	 *
 	 * 이 메서드는 주어진 QRHistoryReqVO 요청 객체와 HTTP 요청 정보를 사용하여 
-	 * QR 코드 이력을 조회합니다. 각 단계에서 로그를 비동기적으로 저장하며, 
+	 * QR 코드 이력을 조회합니다. 각 단계에서 로그를 누적하며, 
 	 * 필요한 데이터가 유효하지 않거나 데이터베이스 작업이 실패할 경우 
 	 * CustomException을 발생시킵니다. 성공 시 조회된 이력 정보를 포함하는 ResVO 객체를 반환합니다.
 	 *
@@ -85,92 +95,44 @@ public class QRHistoryServiceImpl implements QRHistoryService {
 			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
 			logPk = logging.createLogPrimaryKey();
 
-			log.info("step3. saveLogAsync ({})", reqVO);
-			// 로그 생성 비동기 : reqVO 정보
-			logging.saveLogAsync(logPk, reqVO);
-
-			log.info("step4. getRequestInfo ({})", request);
-			//RequestInfo 생성(url, ip 등 request 정보)
-			RequestInfo requestInfo = parser.getRequestInfo(request);
-
-			log.info("step5. saveLogAsync ({})", requestInfo);
-			// 로그 생성 비동기 : requestInfo 정보
-			logging.saveLogAsync(logPk, requestInfo);
-
-			log.info("step6. selectInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
-					reqVO.getApplicationToken());
-			// 기관앱정보 데이터베이서 select
-			InstitutionAndApplicationInfo instAndAppInfo = publicKeyDao.selectInstAndAppInfo(reqVO.getAgencyToken(),
-					reqVO.getApplicationToken());
-			if (instAndAppInfo == null) {
-				log.error("기관앱정보 조회 실패 agencyToken: {}, applicationToken: {}", reqVO.getAgencyToken(),
-						reqVO.getApplicationToken());
-				throw new CustomException(ErrorCode.F104);
-			}
-
-			log.info("step7. isValid ({}, ip: {}, url: {})", instAndAppInfo, requestInfo.getReqIp(),
-					requestInfo.getReqUrl());
-			// 기관앱정보 유효성 검사
-			validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
-
-			log.info("step8. saveLogAsync ({})", instAndAppInfo);
-			// 로그 갱신 기관앱정보 비동기
-			logging.saveLogAsync(logPk, instAndAppInfo);
-
-			log.info("step9. decryptReqVO ({})", reqVO);
-			// 신분등록ReqVO 데이터 복호화
-			ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo.getPrivateKey());
-
-			log.info("step10. isValid ({})", decryptReqVO);
-			// 복호화된 IdCheckReqVO정보 유효성 검사
-			validation.isValid(decryptReqVO);
-
-			log.info("step11. saveLogAsync ({})", decryptReqVO);
-			// 로그 갱신 reqVO 비동기
-			logging.saveLogAsync(logPk, decryptReqVO);
-			
-			log.info("step12. selectIdInfo (ci: {})", decryptReqVO.getCi());
-			// 직원정보 가져오기
-			IdInfo idInfoDb = idCheckDao.selectIdInfo(decryptReqVO.getCi());
-			if (idInfoDb == null) 
-				throw new CustomException(ErrorCode.F201); 
-			
-			log.info("step13. saveLogAsync ({})", idInfoDb);
-			// 로그 갱신 신분정보 비동기
-			logging.saveLogAsync(logPk, idInfoDb);
-			
-			log.info("step14. checkRegistYn (registYn: {})", idInfoDb.getRegistYn());
-			// 조회가능 여부 확인
-			if(idInfoDb.getRegistYn().equals("N"))
-				throw new CustomException(ErrorCode.F206);
-			
-			log.info("step15. apiGetIdInfo (ci: {})", decryptReqVO.getCi());
-			//내부망에서 신분정보 불러오는 api 호출
-			IdInfo idInfo = apiCallService.apiGetIdInfo(decryptReqVO.getCi());
-			
-			log.info("step16. saveLogAsync ({})", idInfo);
-			// 로그 갱신 idInfo 비동기
-			logging.saveLogAsync(logPk, idInfo);
-			
-			log.info("step17. checkUseIdInfo ({}, {}, instNm: {})", decryptReqVO, idInfo, instAndAppInfo.getInstNm());
-			// Req와 idInfo 정보 유효성검사
-			validation.checkUseIdInfo(decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+			// 인증, 복호화, 신분정보 확인 (step3 ~ step17)
+			QRHistoryContext context = resolveContext(reqVO, request, logPk);
+			ReqVO decryptReqVO = context.decryptReqVO;
+			InstitutionAndApplicationInfo instAndAppInfo = context.instAndAppInfo;
+			IdInfo idInfoDb = context.idInfoDb;
 			
 			log.info("step18. getCountHistoryQR ({}, appNo: {})", decryptReqVO, instAndAppInfo);
-			// 조건에 맞는 QRHistory 갯수 가져오기
-			int historyTotalCount =  qRHistoryDao.getCountHistoryQR(decryptReqVO, instAndAppInfo);
+			// 조건에 맞는 QRHistory 갯수 가져오기 (step12에서 조회한 직원 아이디로 조회, cached 모드면 캐시에 없을 때만 count 조회)
+			int historyTotalCount = qRHistoryCountCache.getCount(decryptReqVO, instAndAppInfo, idInfoDb.getUserId());
 			
-			log.info("step19. createPageInfo (curListIndex: {}, reqListCnt: {}, totalCnt: {})", decryptReqVO.getCurListIndex(), decryptReqVO.getReqListCnt(), historyTotalCount);
-			//PageInfo 정보 생성
-			PageInfo pageInfo = parser.createPageInfo(decryptReqVO.getCurListIndex(), decryptReqVO.getReqListCnt(), historyTotalCount);
+			log.info("step19. createPageInfo (curListIndex: {}, reqListCnt: {}, totalCnt: {}, cursor: {})", decryptReqVO.getCurListIndex(), decryptReqVO.getReqListCnt(), historyTotalCount, decryptReqVO.getCursor());
+			//PageInfo 정보 생성 (커서가 있으면 커서 위치부터, 없으면 curListIndex 오프셋으로 조회)
+			boolean cursorMode = decryptReqVO.getCursor() != null && !decryptReqVO.getCursor().isBlank();
+			PageInfo pageInfo = cursorMode
+					? parser.createCursorPageInfo(decryptReqVO.getCursor(), decryptReqVO.getReqListCnt(), historyTotalCount)
+					: parser.createPageInfo(decryptReqVO.getCurListIndex(), decryptReqVO.getReqListCnt(), historyTotalCount);
 			
 			log.info("step20. selectQRHistoryList ({}, {})", decryptReqVO, pageInfo);
 			//pageinfo로 데이터리스트 가져오기
-			List<QRCheckHistory> qRHistoryList = qRHistoryDao.selectQRHistoryList(decryptReqVO, pageInfo, instAndAppInfo);
+			List<QRCheckHistory> qRHistoryList = qRHistoryDao.selectQRHistoryList(decryptReqVO, pageInfo, instAndAppInfo,
+					idInfoDb.getUserId());
+			
+			// 요청 목록 수보다 1건 더 조회되면 다음 페이지가 있음 (추가로 조회된 1건은 응답에서 제외)
+			boolean hasNext = qRHistoryList.size() > pageInfo.getReqListCount();
+			if (hasNext)
+				qRHistoryList = qRHistoryList.subList(0, pageInfo.getReqListCount());
+			pageInfo.setHasNext(hasNext ? "Y" : "N");
 			
-			log.info("step21. createQRHistoryRes ({}, {})", qRHistoryList, pageInfo);
+			// 다음 페이지가 있으면 마지막 이력 위치로 다음 페이지 커서 생성
+			String nextCursor = null;
+			if ("Y".equals(pageInfo.getHasNext()) && !qRHistoryList.isEmpty()) {
+				QRCheckHistory last = qRHistoryList.get(qRHistoryList.size() - 1);
+				nextCursor = parser.createHistoryCursor(last.getCursorDt(), last.getQrHistNo());
+			}
+			
+			log.info("step21. createQRHistoryRes ({}, {}, nextCursor: {})", qRHistoryList, pageInfo, nextCursor);
 			//QRHistoryRes객체 생성 
-			QRHistoryRes res = new QRHistoryRes(qRHistoryList, pageInfo.getHasNext(), pageInfo.getTotalCount());
+			QRHistoryRes res = new QRHistoryRes(qRHistoryList, pageInfo.getHasNext(), pageInfo.getTotalCount(), nextCursor);
 			
 			SuccessCode sCode = SuccessCode.S00000;
 			
@@ -179,9 +141,9 @@ public class QRHistoryServiceImpl implements QRHistoryService {
 			@SuppressWarnings("unchecked")
 			ResVO<T> resVO = (ResVO<T>) new ResVO<>(sCode.name(), sCode.getDescription(), res);
 
-			log.info("step23. saveLogAsync ({})", resVO);
-			// 로그갱신 resVO 비동기
-			logging.saveLogAsync(logPk, sCode.name(), sCode.getDescription(), parser.toJson(resVO));
+			log.info("step23. appendLog ({})", resVO);
+			// 로그 누적 resVO
+			logging.appendLog(logPk, sCode.name(), sCode.getDescription(), parser.toJson(resVO));
 			
 			log.info("step24. End : selectQRHistory");
 			return resVO;
@@ -189,22 +151,194 @@ public class QRHistoryServiceImpl implements QRHistoryService {
 		} catch (CustomException e) {
 			log.error("에러 : {}", e.getMessage(), e);
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, e.getErrorCode().name(), e.getMessage(), null);
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
 
 			throw e;
 		} catch (Exception e) {
 			log.error("기타 에러 : {}", e.getMessage(), e);
 			ErrorCode errorCode = ErrorCode.F901;
 			// 에러 로그갱신(에러정보)
-			logging.saveLogAsync(logPk, errorCode.name(), errorCode.getDescription(), null);
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
 
 			throw new CustomException(errorCode);
 		}
 			
 	}
-	
-	
-	
-	
+
+	/**
+	 * QR 코드 이력 내보내기 요청을 처리하고 조회 기간 전체 이력을 응답 스트림에 기록하는 메서드.
+	 *
+	 * 인증, 복호화, 신분정보 확인은 selectQRHistory와 같으며, 이후 목록을 만들지 않고
+	 * MyBatis ResultHandler로 한 행씩 읽어 NDJSON 또는 CSV로 바로 기록합니다.
+	 * 내보내기 형식은 내부망 API 호출 전에 검사합니다.
+	 * PostgreSQL은 트랜잭션 안에서만 fetchSize 단위로 나누어 읽으므로 이력 조회만 읽기 전용 트랜잭션으로 실행하고,
+	 * 인증, 내부망 API 호출 중에는 데이터베이스 연결을 점유하지 않습니다.
+	 *
+	 * @param reqVO QR 코드 이력 조회를 위한 요청 데이터를 담고 있는 QRHistoryReqVO 객체 (페이지 정보는 사용하지 않음)
+	 * @param format 내보내기 형식 (ndjson, csv)
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @param response 이력을 기록할 HttpServletResponse 객체
+	 * @return 기록된 이력 건수
+	 * @throws CustomException 다음과 같은 경우 예외를 발생시킴:
+	 *                         - F103: 내보내기 형식이 ndjson, csv가 아닌 경우
+	 *                         - F104: 유효하지 않은 기관 또는 앱 정보
+	 *                         - F201: 신분 정보가 존재하지 않음 (미가입 사용자)
+	 *                         - F901: 예상치 못한 시스템 오류 발생
+	 */
+	@Override
+	public long exportQRHistory(@Valid QRHistoryReqVO reqVO, String format, HttpServletRequest request,
+			HttpServletResponse response) throws CustomException {
+		
+		log.info("step1. start : exportQRHistory");
+		String logPk = "";
+		try {
+			log.info("step2. createLogPrimaryKey");
+			// logPrimaryKey 값 가져오기 (현재시간(시분초밀리초) + 4자리 난수)
+			logPk = logging.createLogPrimaryKey();
+
+			// 내보내기 형식 유효성 검사 (내부망 API 호출 전에 거부)
+			if (!QRHistoryExportWriter.FORMAT_NDJSON.equals(format) && !QRHistoryExportWriter.FORMAT_CSV.equals(format))
+				throw new CustomException(ErrorCode.F103, ErrorCode.F103.formatMessage("내보내기 형식"));
+
+			// 인증, 복호화, 신분정보 확인 (step3 ~ step17)
+			QRHistoryContext context = resolveContext(reqVO, request, logPk);
+			ReqVO decryptReqVO = context.decryptReqVO;
+			InstitutionAndApplicationInfo instAndAppInfo = context.instAndAppInfo;
+			IdInfo idInfoDb = context.idInfoDb;
+			
+			log.info("step18. createExportWriter (format: {})", format);
+			// 응답 헤더 설정 후 응답 스트림에 바로 기록하는 writer 생성
+			response.setContentType(QRHistoryExportWriter.contentType(format));
+			response.setHeader("Content-Disposition", "attachment; filename=\"qr-history." + format + "\"");
+			QRHistoryExportWriter exportWriter = new QRHistoryExportWriter(response.getOutputStream(), format);
+			
+			log.info("step19. exportQRHistoryList ({}, appNo: {})", decryptReqVO, instAndAppInfo.getAppNo());
+			// 조건에 맞는 이력 전체를 한 행씩 기록 (fetchSize 단위로 읽도록 읽기 전용 트랜잭션 안에서 조회)
+			readOnlyTransactionTemplate.executeWithoutResult(status -> qRHistoryDao.exportQRHistoryList(decryptReqVO,
+					instAndAppInfo, idInfoDb.getUserId(), exportWriter));
+			exportWriter.flush();
+			
+			SuccessCode sCode = SuccessCode.S00000;
+			
+			log.info("step20. appendLog (exportCount: {})", exportWriter.getCount());
+			// 로그 누적 결과 (이력 목록 대신 건수만 기록)
+			logging.appendLog(logPk, sCode.name(), sCode.getDescription(),
+					"{\"format\":\"" + format + "\",\"exportCount\":" + exportWriter.getCount() + "}");
+			
+			log.info("step21. End : exportQRHistory");
+			return exportWriter.getCount();
+			
+		} catch (CustomException e) {
+			log.error("에러 : {}", e.getMessage(), e);
+			// 에러 로그갱신(에러정보)
+			logging.appendLog(logPk, e.getErrorCode().name(), e.getMessage(), null);
+
+			throw e;
+		} catch (Exception e) {
+			log.error("기타 에러 : {}", e.getMessage(), e);
+			ErrorCode errorCode = ErrorCode.F901;
+			// 에러 로그갱신(에러정보)
+			logging.appendLog(logPk, errorCode.name(), errorCode.getDescription(), null);
+
+			throw new CustomException(errorCode);
+		}
+	}
+
+	// 요청 인증, 복호화, 신분정보 확인 결과 (selectQRHistory, exportQRHistory 공통)
+	private static class QRHistoryContext {
+		private InstitutionAndApplicationInfo instAndAppInfo;
+		private ReqVO decryptReqVO;
+		private IdInfo idInfoDb;
+	}
+
+	/**
+	 * 기관앱 인증, 요청 복호화, 신분정보 확인을 수행하는 메서드. (selectQRHistory, exportQRHistory 공통 step3 ~ step17)
+	 *
+	 * @param reqVO QR 코드 이력 조회를 위한 요청 데이터를 담고 있는 QRHistoryReqVO 객체
+	 * @param request 클라이언트의 HTTP 요청 정보가 담긴 HttpServletRequest 객체
+	 * @param logPk 로그 기본 키
+	 * @return 기관앱정보, 복호화된 요청, 데이터베이스의 신분정보
+	 * @throws Exception F104, F201, F206 등 인증, 신분정보 확인 실패 시 CustomException
+	 */
+	private QRHistoryContext resolveContext(QRHistoryReqVO reqVO, HttpServletRequest request, String logPk)
+			throws Exception {
+
+		log.info("step3. appendLog ({})", reqVO);
+		// 로그 누적 : reqVO 정보
+		logging.appendLog(logPk, reqVO);
+
+		log.info("step4. getRequestInfo ({})", request);
+		//RequestInfo 생성(url, ip 등 request 정보)
+		RequestInfo requestInfo = parser.getRequestInfo(request);
+
+		log.info("step5. appendLog ({})", requestInfo);
+		// 로그 누적 : requestInfo 정보
+		logging.appendLog(logPk, requestInfo);
+
+		log.info("step6. getInstAndAppInfo (agencyToken: {}, appToken: {})", reqVO.getAgencyToken(),
+				reqVO.getApplicationToken());
+		// 기관앱정보 조회 (캐시에 없으면 데이터베이스 select)
+		InstitutionAndApplicationInfo instAndAppInfo = instAndAppCache.get(reqVO.getAgencyToken(),
+				reqVO.getApplicationToken());
+		if (instAndAppInfo == null) {
+			log.error("기관앱정보 조회 실패 agencyToken: {}, applicationToken: {}", reqVO.getAgencyToken(),
+				reqVO.getApplicationToken());
+			throw new CustomException(ErrorCode.F104);
+		}
+
+		log.info("step7. isValid ({}, ip: {}, url: {})", instAndAppInfo, requestInfo.getReqIp(),
+				requestInfo.getReqUrl());
+		// 기관앱정보 유효성 검사
+		validation.isValid(instAndAppInfo, requestInfo.getReqIp(), requestInfo.getReqUrl());
+
+		log.info("step8. appendLog ({})", instAndAppInfo);
+		// 로그 누적 기관앱정보
+		logging.appendLog(logPk, instAndAppInfo);
+
+		log.info("step9. decryptReqVO ({})", reqVO);
+		// 신분등록ReqVO 데이터 복호화
+		ReqVO decryptReqVO = crypto.decryptReqVO(reqVO, instAndAppInfo);
+
+		log.info("step10. isValid ({})", decryptReqVO);
+		// 복호화된 IdCheckReqVO정보 유효성 검사
+		validation.isValid(decryptReqVO);
+
+		log.info("step11. appendLog ({})", decryptReqVO);
+		// 로그 누적 reqVO
+		logging.appendLog(logPk, decryptReqVO);
+		
+		log.info("step12. selectIdInfo (ci: {})", decryptReqVO.getCi());
+		// 직원정보 가져오기
+		IdInfo idInfoDb = idInfoCache.getWithCi(decryptReqVO.getCi());
+		if (idInfoDb == null) 
+			throw new CustomException(ErrorCode.F201); 
+		
+		log.info("step13. appendLog ({})", idInfoDb);
+		// 로그 누적 신분정보
+		logging.appendLog(logPk, idInfoDb);
+		
+		log.info("step14. checkRegistYn (registYn: {})", idInfoDb.getRegistYn());
+		// 조회가능 여부 확인
+		if(idInfoDb.getRegistYn().equals("N"))
+			throw new CustomException(ErrorCode.F206);
+		
+		log.info("step15. apiGetIdInfo (ci: {})", decryptReqVO.getCi());
+		//내부망에서 신분정보 불러오는 api 호출
+		IdInfo idInfo = apiCallService.apiGetIdInfo(decryptReqVO.getCi());
+		
+		log.info("step16. appendLog ({})", idInfo);
+		// 로그 누적 idInfo
+		logging.appendLog(logPk, idInfo);
+		
+		log.info("step17. checkUseIdInfo ({}, {}, instNm: {})", decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+		// Req와 idInfo 정보 유효성검사
+		validation.checkUseIdInfo(decryptReqVO, idInfo, instAndAppInfo.getInstNm());
+
+		QRHistoryContext context = new QRHistoryContext();
+		context.instAndAppInfo = instAndAppInfo;
+		context.decryptReqVO = decryptReqVO;
+		context.idInfoDb = idInfoDb;
+		return context;
+	}
 	
 }
@@ -1,5 +1,6 @@
 package com.inside.idmcs.test;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
@@ -47,7 +48,7 @@ public class TestApiServiceImpl implements TestApiService {
 			idInfo.setDetailAddress("공구아파트 9동 909호");
 			idInfo.setMobileNo("01009090909");
 			idInfo.setIssuedInstNm("inst01");
-			idInfo.setPhoto("photodata01");
+			idInfo.setPhoto("photodata01".getBytes(StandardCharsets.UTF_8));
 			idInfo.setAppKey("MyVC8d1LtFA5BymW0EXF20V0rioYt5kY");
 			idInfo.setTelecom("S");
 			idInfo.setDeviceInfo(
@@ -71,7 +72,7 @@ public class TestApiServiceImpl implements TestApiService {
 			idInfo.setDetailAddress("이공이아파트 2동 202호");
 			idInfo.setMobileNo("01002020202");
 			idInfo.setIssuedInstNm("inst01");
-			idInfo.setPhoto("photodata02");
+			idInfo.setPhoto("photodata02".getBytes(StandardCharsets.UTF_8));
 			idInfo.setAppKey("MyVC8d1LtFA5BymW0EXF20V0rioYt5kY");
 			idInfo.setTelecom("K");
 			idInfo.setDeviceInfo(
@@ -95,7 +96,7 @@ public class TestApiServiceImpl implements TestApiService {
 			idInfo.setDetailAddress("공삼아파트 3동 303호");
 			idInfo.setMobileNo("01003030303");
 			idInfo.setIssuedInstNm("inst01");
-			idInfo.setPhoto("photodata03");
+			idInfo.setPhoto("photodata03".getBytes(StandardCharsets.UTF_8));
 			idInfo.setAppKey("MyVC8d1LtFA5BymW0EXF20V0rioYt5kY");
 			idInfo.setTelecom("L");
 			idInfo.setDeviceInfo(
@@ -149,7 +150,7 @@ public class TestApiServiceImpl implements TestApiService {
 		idInfo.setIssuedYmd(crypto.decryptAES(retData.getIssuedYmd(), appKey));
 		idInfo.setAddress(crypto.decryptAES(retData.getAddress(), appKey));
 		idInfo.setDetailAddress(crypto.decryptAES(retData.getDetailAddress(), appKey));
-		idInfo.setPhoto(crypto.decryptAES(retData.getPhoto(), appKey));
+		idInfo.setPhoto(crypto.decryptAES(retData.getPhoto() != null ? Base64.getDecoder().decode(retData.getPhoto()) : null, appKey));
 		idInfo.setIssuedInstNm(crypto.decryptAES(retData.getIssuOrgName(), appKey));
 		
 		return idInfo;
@@ -0,0 +1,21 @@
+-- =====================================================================
+-- 신분정보, 사진 지문(fingerprint) 컬럼 추가 스크립트 (photo-bytea.sql 적용 후 실행)
+--
+-- 신분 확인 시 내부망 API 결과의 지문이 마지막으로 저장한 지문과 같으면 employee, photo 쓰기를 생략합니다.
+--   employee.sync_hash : updateIdInfo 대상 컬럼 값의 SHA-256 (Base64URL)
+--   photo.photo_hash   : 사진 바이너리의 SHA-256 (Base64URL, 사진 조회 ETag와 같은 값)
+-- 신규 등록 직원은 등록 시 두 지문을 함께 저장하고, 기존 직원의 sync_hash는 다음 신분 확인 시 채워지므로 따로 채우지 않습니다.
+-- =====================================================================
+
+BEGIN;
+
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS sync_hash varchar(64);
+ALTER TABLE photo ADD COLUMN IF NOT EXISTS photo_hash varchar(64);
+
+-- 기존 사진 지문 채우기
+UPDATE photo
+	SET photo_hash = translate(rtrim(encode(sha256(photo_data), 'base64'), '='), '+/', '-_')
+WHERE photo_data IS NOT NULL
+  AND photo_hash IS NULL;
+
+COMMIT;
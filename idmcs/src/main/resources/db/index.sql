@@ -0,0 +1,10 @@
+-- =====================================================================
+-- qr_history 이력 조회 인덱스
+--
+-- 이력 조회(getCountHistoryQR, selectQRHistoryList, exportQRHistoryList)는 employee 조인 없이
+-- 직원 아이디와 검증시각으로만 조회하므로 (emp_id, check_dt, qr_hist_no) 인덱스 범위 탐색으로 처리됩니다.
+-- 파티션 테이블(partition.sql 적용 후)에는 CONCURRENTLY를 쓸 수 없으므로 partition.sql의 인덱스를 사용하세요.
+-- =====================================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_qr_history_emp_check_dt
+	ON qr_history (emp_id, check_dt, qr_hist_no);
@@ -0,0 +1,99 @@
+-- =====================================================================
+-- qr_history, log 테이블 월 단위 파티션 전환 스크립트 (PostgreSQL 15 이상)
+--
+-- 애플리케이션의 로그, 신분정보 저장이 MERGE 문(PostgreSQL 15 이상)을 사용하므로 15 미만 서버에서는 실행하지 않습니다.
+--
+-- 기존 테이블을 *_old로 이름을 바꾸고 같은 구조의 파티션 테이블을 만든 뒤 데이터를 옮깁니다.
+-- 이후 월 파티션 생성/분리는 PartitionMaintenance(partition.maintenance.enabled=true)가 수행합니다.
+-- 서비스 중지 후 한 번만 실행하고, 데이터 확인 후 *_old 테이블을 삭제하세요.
+--   파티션 이름 : qr_history_pYYYYMM, log_pYYYYMM
+--   qr_history 파티션 키 : check_dt (timestamp, 월 범위)
+--   log 파티션 키 : ymd (로그 기본 키, 현재시간(yyyyMMddHHmmssSSS) + 난수 문자열의 앞 6자리 월 범위)
+-- =====================================================================
+
+BEGIN;
+
+-- 서버 버전 확인 (15 미만이면 트랜잭션이 중단되어 이후 문장은 적용되지 않음)
+DO $$
+BEGIN
+	IF current_setting('server_version_num')::int < 150000 THEN
+		RAISE EXCEPTION 'PostgreSQL 15 이상이 필요합니다. (현재 %)', current_setting('server_version');
+	END IF;
+END $$;
+
+-- ---------------------------------------------------------------------
+-- qr_history
+-- ---------------------------------------------------------------------
+ALTER TABLE qr_history RENAME TO qr_history_old;
+ALTER INDEX IF EXISTS qr_history_pkey RENAME TO qr_history_old_pkey;
+
+-- 파티션 테이블의 기본 키에는 파티션 키(check_dt)가 포함되어야 함
+CREATE TABLE qr_history (LIKE qr_history_old INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+	PARTITION BY RANGE (check_dt);
+ALTER TABLE qr_history ALTER COLUMN check_dt SET NOT NULL;
+ALTER TABLE qr_history ADD PRIMARY KEY (qr_hist_no, check_dt);
+
+-- qr_hist_no 시퀀스를 새 테이블 소유로 변경 (시퀀스 이름이 다르면 수정)
+ALTER SEQUENCE qr_history_qr_hist_no_seq OWNED BY qr_history.qr_hist_no;
+
+-- 이력 조회 (앱 번호, 검증시각) 인덱스 (각 파티션에 자동 생성)
+CREATE INDEX idx_qr_history_app_check_dt ON qr_history (app_no, check_dt);
+
+-- 이력 조회 (직원 아이디, 검증시각) 인덱스 (index.sql과 같은 인덱스)
+ALTER INDEX IF EXISTS idx_qr_history_emp_check_dt RENAME TO idx_qr_history_old_emp_check_dt;
+CREATE INDEX idx_qr_history_emp_check_dt ON qr_history (emp_id, check_dt, qr_hist_no);
+
+-- 범위를 벗어난 값을 받는 기본 파티션 (월 파티션이 없어 들어간 행은 PartitionMaintenance가 해당 월 파티션 생성 시 옮김)
+CREATE TABLE qr_history_default PARTITION OF qr_history DEFAULT;
+
+-- 기존 데이터 범위의 월 파티션 생성 (기존 최소 월 ~ 이번 달 + 3개월)
+DO $$
+DECLARE
+	month_start date;
+	last_month date := date_trunc('month', now())::date + interval '3 month';
+BEGIN
+	SELECT COALESCE(date_trunc('month', min(check_dt))::date, date_trunc('month', now())::date)
+		INTO month_start FROM qr_history_old;
+	WHILE month_start <= last_month LOOP
+		EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF qr_history FOR VALUES FROM (%L) TO (%L)',
+			'qr_history_p' || to_char(month_start, 'YYYYMM'), month_start, month_start + interval '1 month');
+		month_start := month_start + interval '1 month';
+	END LOOP;
+END $$;
+
+INSERT INTO qr_history SELECT * FROM qr_history_old WHERE check_dt IS NOT NULL;
+
+-- ---------------------------------------------------------------------
+-- log
+-- ---------------------------------------------------------------------
+ALTER TABLE log RENAME TO log_old;
+ALTER INDEX IF EXISTS log_pkey RENAME TO log_old_pkey;
+
+CREATE TABLE log (LIKE log_old INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+	PARTITION BY RANGE (ymd);
+ALTER TABLE log ADD PRIMARY KEY (ymd);
+
+CREATE TABLE log_default PARTITION OF log DEFAULT;
+
+DO $$
+DECLARE
+	month_start date;
+	last_month date := date_trunc('month', now())::date + interval '3 month';
+BEGIN
+	SELECT COALESCE(to_date(left(min(ymd), 6), 'YYYYMM'), date_trunc('month', now())::date)
+		INTO month_start FROM log_old;
+	WHILE month_start <= last_month LOOP
+		EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF log FOR VALUES FROM (%L) TO (%L)',
+			'log_p' || to_char(month_start, 'YYYYMM'), to_char(month_start, 'YYYYMM'),
+			to_char(month_start + interval '1 month', 'YYYYMM'));
+		month_start := month_start + interval '1 month';
+	END LOOP;
+END $$;
+
+INSERT INTO log SELECT * FROM log_old;
+
+COMMIT;
+
+-- 데이터 확인 후 실행
+-- DROP TABLE qr_history_old;
+-- DROP TABLE log_old;
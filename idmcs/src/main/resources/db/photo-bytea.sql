@@ -0,0 +1,18 @@
+-- =====================================================================
+-- photo.photo_data 컬럼 바이너리(bytea) 전환 스크립트
+--
+-- 사진은 Base64 문자열(text) 대신 이미지 바이너리(bytea)로 저장하고,
+-- 애플리케이션에서는 byte[]로 읽고 쓰며 Base64 변환은 응답(JSON) 직렬화 시 한 번만 수행합니다.
+-- 서비스 중지 후 한 번만 실행하세요. (기존 값은 Base64 디코딩하여 변환, data URL 접두어가 있으면 제거)
+-- TOAST 압축은 이미 압축된 이미지(JPEG, PNG)에 효과가 없으므로 EXTERNAL 저장 방식을 사용합니다.
+-- =====================================================================
+
+BEGIN;
+
+ALTER TABLE photo
+	ALTER COLUMN photo_data TYPE bytea
+	USING decode(regexp_replace(photo_data, '^data:[^,]*,', ''), 'base64');
+
+ALTER TABLE photo ALTER COLUMN photo_data SET STORAGE EXTERNAL;
+
+COMMIT;
@@ -3,7 +3,9 @@ package com.inside.idmcs;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// 서명 키는 기본값이 없으므로 테스트용 값을 지정
+@SpringBootTest(properties = { "qr.sign.secret=test-qr-sign-secret-0123456789-abcdef",
+		"photo.token.secret=test-photo-token-secret-0123456789-abcdef" })
 class IdmcsApplicationTests {
 
 	@Test
@@ -0,0 +1,125 @@
+package com.inside.idmcs.api.common.util.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.inside.idmcs.api.common.model.dto.LogRecord;
+
+class LogWriterTest {
+
+	@TempDir
+	Path tempDir;
+
+	// writer 스레드를 시작하지 않아 큐가 비워지지 않는 LogWriter 생성
+	private LogWriter createWriter(int queueCapacity, String overflowPolicy) {
+
+		LogWriter logWriter = new LogWriter(mock(SqlSessionFactory.class), queueCapacity, overflowPolicy);
+		ReflectionTestUtils.setField(logWriter, "batchSize", 10);
+		ReflectionTestUtils.setField(logWriter, "flushIntervalMs", 100L);
+		ReflectionTestUtils.setField(logWriter, "blockTimeoutMs", 20L);
+		ReflectionTestUtils.setField(logWriter, "spillPath", tempDir.resolve("log-spill.ndjson").toString());
+		return logWriter;
+	}
+
+	private static LogRecord logRecord(String logPk) {
+
+		LogRecord logRecord = new LogRecord();
+		logRecord.setLogPk(logPk);
+		return logRecord;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> queuedLogPks(LogWriter logWriter) {
+
+		BlockingQueue<LogRecord> queue = (BlockingQueue<LogRecord>) ReflectionTestUtils.getField(logWriter, "queue");
+		return queue.stream().map(LogRecord::getLogPk).toList();
+	}
+
+	@Test
+	@DisplayName("block : 대기 시간 안에 빈 자리가 없으면 새 로그를 버림")
+	void blockDropsNewestAfterTimeout() {
+
+		LogWriter logWriter = createWriter(2, "block");
+		logWriter.enqueue(logRecord("a"));
+		logWriter.enqueue(logRecord("b"));
+		logWriter.enqueue(logRecord("c"));
+
+		assertThat(queuedLogPks(logWriter)).containsExactly("a", "b");
+		assertThat(logWriter.getEnqueuedCount()).isEqualTo(2);
+		assertThat(logWriter.getDroppedCount()).isEqualTo(1);
+		assertThat(logWriter.getMaxQueueDepth()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("block : 대기 중 빈 자리가 생기면 로그를 추가")
+	void blockWaitsForSpace() throws Exception {
+
+		LogWriter logWriter = createWriter(1, "block");
+		ReflectionTestUtils.setField(logWriter, "blockTimeoutMs", 5000L);
+		logWriter.enqueue(logRecord("a"));
+
+		@SuppressWarnings("unchecked")
+		BlockingQueue<LogRecord> queue = (BlockingQueue<LogRecord>) ReflectionTestUtils.getField(logWriter, "queue");
+		Thread consumer = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+				queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+
+		logWriter.enqueue(logRecord("b"));
+		consumer.join();
+
+		assertThat(queuedLogPks(logWriter)).containsExactly("b");
+		assertThat(logWriter.getDroppedCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("drop-oldest : 가장 오래된 로그를 버리고 새 로그를 추가")
+	void dropOldest() {
+
+		LogWriter logWriter = createWriter(2, "drop-oldest");
+		logWriter.enqueue(logRecord("a"));
+		logWriter.enqueue(logRecord("b"));
+		logWriter.enqueue(logRecord("c"));
+
+		assertThat(queuedLogPks(logWriter)).containsExactly("b", "c");
+		assertThat(logWriter.getEnqueuedCount()).isEqualTo(3);
+		assertThat(logWriter.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("spill : 큐가 가득 차면 로그를 파일에 기록")
+	void spillToFile() throws Exception {
+
+		LogWriter logWriter = createWriter(1, "SPILL");
+		logWriter.enqueue(logRecord("a"));
+		logWriter.enqueue(logRecord("b"));
+		logWriter.enqueue(logRecord("c"));
+
+		assertThat(queuedLogPks(logWriter)).containsExactly("a");
+		assertThat(logWriter.getSpilledCount()).isEqualTo(2);
+		assertThat(logWriter.getDroppedCount()).isZero();
+
+		List<String> lines = Files.readAllLines(tempDir.resolve("log-spill.ndjson"), StandardCharsets.UTF_8);
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).contains("\"logPk\":\"b\"");
+		assertThat(lines.get(1)).contains("\"logPk\":\"c\"");
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.inside.idmcs.api.common.util.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+import com.inside.idmcs.api.common.model.dto.PageInfo;
+
+class ParserCursorTest {
+
+	private final Parser parser = new Parser();
+
+	@Test
+	@DisplayName("생성한 커서를 해석하면 검증시각과 이력 번호가 그대로 복원")
+	void roundTrip() throws Exception {
+
+		String cursor = parser.createHistoryCursor("20240131235959123456", 9876543210L);
+		PageInfo pageInfo = parser.createCursorPageInfo(cursor, 20, 100);
+
+		assertThat(cursor).doesNotContain("=", "+", "/");
+		assertThat(pageInfo.getCursorDt()).isEqualTo("20240131235959123456");
+		assertThat(pageInfo.getCursorHistNo()).isEqualTo(9876543210L);
+		assertThat(pageInfo.getReqListCount()).isEqualTo(20);
+		assertThat(pageInfo.getFetchCount()).isEqualTo(21);
+		assertThat(pageInfo.getTotalCount()).isEqualTo(100);
+		assertThat(pageInfo.getOffset()).isZero();
+	}
+
+	@Test
+	@DisplayName("Base64가 아닌 커서는 F103")
+	void rejectInvalidBase64() {
+		assertRejected("not base64!");
+	}
+
+	@Test
+	@DisplayName("형식이 다른 커서는 F103")
+	void rejectMalformed() {
+
+		// 검증시각 자릿수 부족, 구분자 없음, 숫자가 아닌 값, SQL 조각
+		assertRejected(encode("2024013123595912345:1"));
+		assertRejected(encode("20240131235959123456"));
+		assertRejected(encode("20240131235959123456:abc"));
+		assertRejected(encode("20240131235959123456:1 OR 1=1"));
+		assertRejected(encode("20240131235959123456:-1"));
+	}
+
+	@Test
+	@DisplayName("변조하여 long 범위를 넘는 이력 번호는 F103")
+	void rejectOverflow() {
+		assertRejected(encode("20240131235959123456:9999999999999999999"));
+	}
+
+	@Test
+	@DisplayName("바이트를 변조한 커서는 F103")
+	void rejectTampered() {
+
+		String cursor = parser.createHistoryCursor("20240131235959123456", 42L);
+		char[] chars = cursor.toCharArray();
+		chars[3] = chars[3] == 'A' ? 'z' : 'A';
+
+		assertRejected(new String(chars));
+	}
+
+	private String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void assertRejected(String cursor) {
+		assertThatThrownBy(() -> parser.createCursorPageInfo(cursor, 20, 100))
+				.isInstanceOfSatisfying(CustomException.class, e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.F103));
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.inside.idmcs.api.common.util.qr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QRNonceStoreTest {
+
+	// 유효기간 35초 (qr.timeout.sec 30 + qr.timeout.margin.sec 5)
+	private static final long WINDOW_MILLIS = 35000;
+
+	private QRNonceStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new QRNonceStore(30, 5);
+	}
+
+	@Test
+	@DisplayName("처음 사용하는 nonce만 등록되고 같은 nonce는 거부")
+	void rejectDuplicate() {
+
+		long now = System.currentTimeMillis();
+
+		assertThat(store.markIfAbsent("nonce-1", now)).isTrue();
+		assertThat(store.markIfAbsent("nonce-1", now)).isFalse();
+		assertThat(store.markIfAbsent("nonce-2", now)).isTrue();
+		assertThat(store.size()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("유효기간 전체에 걸쳐 발행된 nonce를 bucket별로 보관")
+	void keepNoncesAcrossWindow() {
+
+		long now = System.currentTimeMillis();
+		int count = 0;
+		for (long offset = 0; offset < WINDOW_MILLIS; offset += 500, count++)
+			assertThat(store.markIfAbsent("nonce-" + offset, now - offset)).isTrue();
+
+		// bucket이 순환해도 유효기간 내 nonce는 남아 있음
+		for (long offset = 0; offset < WINDOW_MILLIS; offset += 500)
+			assertThat(store.markIfAbsent("nonce-" + offset, now - offset)).isFalse();
+
+		store.purgeExpired();
+		assertThat(store.size()).isEqualTo(count);
+	}
+
+	@Test
+	@DisplayName("유효기간이 지난 발행시간은 등록하지 않음")
+	void rejectExpired() {
+
+		long now = System.currentTimeMillis();
+
+		assertThat(store.markIfAbsent("old", now - WINDOW_MILLIS * 2)).isFalse();
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("최근 bucket이 자리를 차지한 뒤에는 이전 발행시간을 받지 않음")
+	void rejectOlderBucketInReusedSlot() {
+
+		long now = System.currentTimeMillis();
+		assertThat(store.markIfAbsent("recent", now)).isTrue();
+
+		// 링 한 바퀴 이전 발행시간 (같은 slot)
+		long bucketMillis = (WINDOW_MILLIS + 7) / 8;
+		int ringSize = (int) ((WINDOW_MILLIS + bucketMillis - 1) / bucketMillis) + 2;
+		assertThat(store.markIfAbsent("older", now - bucketMillis * ringSize)).isFalse();
+		assertThat(store.markIfAbsent("recent", now)).isFalse();
+	}
+
+	@Test
+	@DisplayName("release한 nonce는 다시 등록 가능")
+	void releaseAllowsRetry() {
+
+		long now = System.currentTimeMillis();
+		assertThat(store.markIfAbsent("nonce-1", now)).isTrue();
+
+		store.release("nonce-1", now);
+
+		assertThat(store.size()).isZero();
+		assertThat(store.markIfAbsent("nonce-1", now)).isTrue();
+	}
+
+}
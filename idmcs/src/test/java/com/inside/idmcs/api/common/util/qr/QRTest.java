@@ -0,0 +1,165 @@
+package com.inside.idmcs.api.common.util.qr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.inside.idmcs.api.common.error.CustomException;
+import com.inside.idmcs.api.common.error.ErrorCode;
+import com.inside.idmcs.api.common.util.parser.Parser;
+import com.inside.idmcs.api.common.util.validation.QRCheckValidation;
+
+class QRTest {
+
+	private static final String SECRET = "qr-test-sign-secret-0123456789-abcdef";
+
+	private QR qr;
+
+	@BeforeEach
+	void setUp() {
+		qr = createQR(SECRET);
+	}
+
+	@Test
+	@DisplayName("서명한 QR 내용을 그대로 해석")
+	void signAndParse() throws Exception {
+
+		long issuedMillis = System.currentTimeMillis();
+		Map<String, String> qrMap = qr.parseQRContent(qr.createQRContent("user01", issuedMillis));
+
+		assertThat(qrMap).containsEntry("userId", "user01")
+				.containsEntry("issuedMillis", String.valueOf(issuedMillis))
+				.containsKey("nonce")
+				.doesNotContainKey("instNo");
+	}
+
+	@Test
+	@DisplayName("QR 이미지 생성 후 해석")
+	void createAndDecodeImage() throws Exception {
+
+		Map<String, String> qrMap = qr.decodeQRcode(qr.createQRCodeWithId("user01", 150), QR.QR_TYPE_IMAGE);
+
+		assertThat(qrMap).containsEntry("userId", "user01");
+	}
+
+	@Test
+	@DisplayName("SVG 형식으로 생성한 QR 이미지도 기본(IMAGE) 검증에서 해석")
+	void createAndDecodeSvg() throws Exception {
+
+		ReflectionTestUtils.setField(qr, "imageFormat", QR.QR_FORMAT_SVG);
+		String qrCode = qr.createQRCodeWithId("user01", 150);
+
+		assertThat(new String(Base64.getDecoder().decode(qrCode), StandardCharsets.UTF_8)).startsWith("<svg");
+		assertThat(qr.decodeQRcode(qrCode, null)).containsEntry("userId", "user01");
+		assertThat(qr.decodeQRcode(qrCode, QR.QR_TYPE_IMAGE)).containsEntry("userId", "user01");
+	}
+
+	@Test
+	@DisplayName("형식이 다른 SVG는 F499")
+	void rejectForeignSvg() {
+
+		String svg = Base64.getEncoder().encodeToString(
+				"<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 29 29\"><path d=\"M0 0L10 10\"/></svg>"
+						.getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> qr.decodeQRcode(svg, QR.QR_TYPE_IMAGE))
+				.isInstanceOfSatisfying(CustomException.class, e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.F499));
+	}
+
+	@Test
+	@DisplayName("같은 사용자라도 QR마다 nonce가 다름")
+	void nonceIsUnique() throws Exception {
+
+		long issuedMillis = System.currentTimeMillis();
+		String first = qr.parseQRContent(qr.createQRContent("user01", issuedMillis)).get("nonce");
+		String second = qr.parseQRContent(qr.createQRContent("user01", issuedMillis)).get("nonce");
+
+		assertThat(first).isNotEqualTo(second);
+	}
+
+	@Test
+	@DisplayName("사용자 아이디를 바꾼 QR 내용은 F402")
+	void rejectTamperedUserId() {
+
+		String[] parts = qr.createQRContent("user01", System.currentTimeMillis()).split("\\.");
+		parts[1] = Base64.getUrlEncoder().withoutPadding().encodeToString("admin".getBytes(StandardCharsets.UTF_8));
+
+		assertErrorCode(String.join(".", parts), ErrorCode.F402);
+	}
+
+	@Test
+	@DisplayName("발행시간을 바꾼 QR 내용은 F402")
+	void rejectTamperedIssuedMillis() {
+
+		String[] parts = qr.createQRContent("user01", System.currentTimeMillis()).split("\\.");
+		parts[2] = String.valueOf(Long.parseLong(parts[2]) + 60000);
+
+		assertErrorCode(String.join(".", parts), ErrorCode.F402);
+	}
+
+	@Test
+	@DisplayName("다른 키로 서명한 QR 내용은 F402")
+	void rejectOtherSecret() {
+
+		String content = createQR("other-sign-secret-0123456789-abcdefgh").createQRContent("user01",
+				System.currentTimeMillis());
+
+		assertErrorCode(content, ErrorCode.F402);
+	}
+
+	@Test
+	@DisplayName("이전 형식, 항목 수가 다른 QR 내용은 F402")
+	void rejectMalformed() {
+
+		assertErrorCode("user01_20240101000000", ErrorCode.F402);
+		assertErrorCode("v1.dXNlcjAx.1700000000000.bm9uY2U", ErrorCode.F402);
+		assertErrorCode("v1.dXNlcjAx.1700000000000.bm9uY2U.1.c2ln", ErrorCode.F402);
+		assertErrorCode(null, ErrorCode.F402);
+	}
+
+	@Test
+	@DisplayName("유효기간이 지난 QR은 F404")
+	void rejectExpired() throws Exception {
+
+		QRCheckValidation validation = new QRCheckValidation(new Parser());
+		Map<String, String> expired = qr.parseQRContent(qr.createQRContent("user01", System.currentTimeMillis() - 31000));
+		Map<String, String> valid = qr.parseQRContent(qr.createQRContent("user01", System.currentTimeMillis()));
+
+		assertThatThrownBy(() -> validation.isValid(expired, 30))
+				.isInstanceOfSatisfying(CustomException.class, e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.F404));
+		assertThatCode(() -> validation.isValid(valid, 30)).doesNotThrowAnyException();
+	}
+
+	@Test
+	@DisplayName("서명 키가 없거나 짧으면 초기화 실패")
+	void rejectWeakSecret() {
+
+		assertThatThrownBy(() -> createQR("")).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> createQR(null)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> createQR("short-secret")).isInstanceOf(IllegalStateException.class);
+	}
+
+	private QR createQR(String secret) {
+
+		QR qr = new QR();
+		ReflectionTestUtils.setField(qr, "imageFormat", QR.QR_FORMAT_PNG);
+		ReflectionTestUtils.setField(qr, "signSecret", secret);
+		qr.init();
+		return qr;
+	}
+
+	private void assertErrorCode(String qrContent, ErrorCode errorCode) {
+		assertThatThrownBy(() -> qr.parseQRContent(qrContent))
+				.isInstanceOfSatisfying(CustomException.class, e -> assertThat(e.getErrorCode()).isEqualTo(errorCode));
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.inside.idmcs.api.common.util.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AllowListTest {
+
+	@Test
+	@DisplayName("쉼표로 구분된 IP는 공백과 관계없이 정확히 일치할 때만 허용")
+	void exactIp() {
+
+		AllowList allowList = AllowList.ofIps(" 192.168.0.1 , 10.0.0.5,127.0.0.1 ");
+
+		assertThat(allowList.contains("192.168.0.1")).isTrue();
+		assertThat(allowList.contains("10.0.0.5")).isTrue();
+		assertThat(allowList.contains("127.0.0.1")).isTrue();
+		assertThat(allowList.contains("192.168.0.2")).isFalse();
+		assertThat(allowList.contains("10.0.0.50")).isFalse();
+		assertThat(allowList.contains(null)).isFalse();
+	}
+
+	@Test
+	@DisplayName("IPv4 CIDR 범위 경계")
+	void ipv4Cidr() {
+
+		AllowList allowList = AllowList.ofIps("10.0.0.0/8,192.168.1.128/25,172.16.5.7/32");
+
+		assertThat(allowList.contains("10.0.0.0")).isTrue();
+		assertThat(allowList.contains("10.255.255.255")).isTrue();
+		assertThat(allowList.contains("11.0.0.0")).isFalse();
+		assertThat(allowList.contains("9.255.255.255")).isFalse();
+
+		assertThat(allowList.contains("192.168.1.128")).isTrue();
+		assertThat(allowList.contains("192.168.1.255")).isTrue();
+		assertThat(allowList.contains("192.168.1.127")).isFalse();
+
+		assertThat(allowList.contains("172.16.5.7")).isTrue();
+		assertThat(allowList.contains("172.16.5.8")).isFalse();
+	}
+
+	@Test
+	@DisplayName("/0은 모든 IPv4 주소를 허용하고 IPv6에는 적용되지 않음")
+	void zeroPrefix() {
+
+		AllowList allowList = AllowList.ofIps("0.0.0.0/0");
+
+		assertThat(allowList.contains("1.2.3.4")).isTrue();
+		assertThat(allowList.contains("255.255.255.255")).isTrue();
+		assertThat(allowList.contains("::1")).isFalse();
+	}
+
+	@Test
+	@DisplayName("IPv6 CIDR 범위와 IPv6 리터럴")
+	void ipv6Cidr() {
+
+		AllowList allowList = AllowList.ofIps("2001:db8::/32,::1");
+
+		assertThat(allowList.contains("2001:db8::1")).isTrue();
+		assertThat(allowList.contains("2001:db8:ffff:ffff::")).isTrue();
+		assertThat(allowList.contains("2001:db9::1")).isFalse();
+		assertThat(allowList.contains("::1")).isTrue();
+		assertThat(allowList.contains("10.0.0.1")).isFalse();
+	}
+
+	@Test
+	@DisplayName("잘못된 주소나 접두사 길이는 범위로 해석하지 않음")
+	void malformedCidr() {
+
+		AllowList allowList = AllowList.ofIps("10.0.0.0/33,300.1.1.1/8,10.1.0.0/x,192.168.0.0/16");
+
+		// 잘못된 항목은 문자열 그대로만 일치
+		assertThat(allowList.contains("10.0.0.0/33")).isTrue();
+		assertThat(allowList.contains("10.0.0.1")).isFalse();
+		assertThat(allowList.contains("10.1.0.1")).isFalse();
+		assertThat(allowList.contains("300.1.1.1")).isFalse();
+		assertThat(allowList.contains("192.168.3.4")).isTrue();
+
+		// IP 형식이 아닌 값은 범위 검사를 하지 않음
+		assertThat(allowList.contains("192.168.x.1")).isFalse();
+		assertThat(allowList.contains("localhost")).isFalse();
+	}
+
+	@Test
+	@DisplayName("URL 목록은 CIDR 표기처럼 보여도 정확히 일치할 때만 허용")
+	void urls() {
+
+		AllowList allowList = AllowList.ofUrls("https://a.example.com/api,https://b.example.com/api/v1");
+
+		assertThat(allowList.contains("https://a.example.com/api")).isTrue();
+		assertThat(allowList.contains("https://b.example.com/api/v1")).isTrue();
+		assertThat(allowList.contains("https://a.example.com/api/")).isFalse();
+		assertThat(allowList.contains("https://a.example.com")).isFalse();
+	}
+
+	@Test
+	@DisplayName("호스트명 형식의 값은 IPv6 주소로 변환하지 않음")
+	void hostnameLikeValue() {
+
+		AllowList allowList = AllowList.ofIps("::/0,0.0.0.0/0");
+
+		// 16진수, ':', '.' 외의 문자가 있으면 DNS 조회 없이 불일치
+		assertThat(allowList.contains("zz:evil.example")).isFalse();
+		assertThat(allowList.contains("2001:db8::1%eth0")).isFalse();
+		assertThat(allowList.contains("evil.example")).isFalse();
+		assertThat(allowList.contains(".:1")).isFalse();
+
+		// 대괄호로 감싼 IPv6 리터럴은 변환
+		assertThat(allowList.contains("2001:db8::1")).isTrue();
+		assertThat(allowList.contains("[2001:db8::1]")).isTrue();
+	}
+
+	@Test
+	@DisplayName("빈 목록은 아무것도 허용하지 않음")
+	void empty() {
+
+		assertThat(AllowList.ofIps(null).contains("127.0.0.1")).isFalse();
+		assertThat(AllowList.ofIps("  ").contains("127.0.0.1")).isFalse();
+		assertThat(AllowList.ofUrls("").contains("")).isFalse();
+	}
+
+}